@@ -45,12 +45,19 @@ import java.util.logging.Level;
 public final class ElytraEssentials extends JavaPlugin {
     private ConfigHandler configHandler;
     private DatabaseHandler databaseHandler;
+    private PersistenceHandler persistenceHandler;
+    private AutoSaveHandler autoSaveHandler;
     private EffectsHandler effectsHandler;
     private TpsHandler tpsHandler;
     private RecoveryHandler recoveryHandler;
     private StatsHandler statsHandler;
+    private LeaderboardHandler leaderboardHandler;
     private AchievementsHandler achievementsHandler;
     private FlightHandler flightHandler;
+    private FlightTickHandler flightTickHandler;
+    private PlayerSessionHandler playerSessionHandler;
+    private ImportHandler importHandler;
+    private StorageMigrationHandler storageMigrationHandler;
     private ArmoredElytraHandler armoredElytraHandler;
     private ShopGuiHandler shopGuiHandler;
     private ForgeGuiHandler forgeGuiHandler;
@@ -58,6 +65,7 @@ public final class ElytraEssentials extends JavaPlugin {
     private AchievementsGuiHandler achievementsGuiHandler;
     private ElytraEquipHandler elytraEquipHandler;
     private BoostHandler boostHandler;
+    private BossBarHandler bossBarHandler;
     private CombatTagHandler combatTagHandler;
     private PluginInfoHandler pluginInfoHandler;
     private UpdaterHandler updaterHandler;
@@ -111,6 +119,10 @@ public final class ElytraEssentials extends JavaPlugin {
         sendOnDisableMessages();
 
         shutdownAllPluginTasks();
+        // After the write-behind queue was drained, so the final sync sees every change
+        if (storageMigrationHandler != null) {
+            storageMigrationHandler.shutdown();
+        }
         if (databaseHandler != null) {
             databaseHandler.disconnect();
         }
@@ -120,12 +132,15 @@ public final class ElytraEssentials extends JavaPlugin {
 
     public void startAllPluginTasks() {
         if (databaseHandler != null) databaseHandler.start();
+        if (persistenceHandler != null) persistenceHandler.start();
 
         if (recoveryHandler != null) recoveryHandler.start();
         if (tpsHandler != null) tpsHandler.start();
+        if (leaderboardHandler != null) leaderboardHandler.start();
         if (statsHandler != null) statsHandler.start();
-        if (achievementsHandler != null) achievementsHandler.start();
         if (flightHandler != null) flightHandler.start();
+        if (flightTickHandler != null) flightTickHandler.start();
+        if (autoSaveHandler != null) autoSaveHandler.start();
         if (combatTagHandler != null) combatTagHandler.start();
         if (tandemHandler != null) tandemHandler.start();
     }
@@ -149,9 +164,7 @@ public final class ElytraEssentials extends JavaPlugin {
 
         // Reload data for all online players
         for (Player player : Bukkit.getOnlinePlayers()) {
-            statsHandler.loadPlayerStats(player);
-            flightHandler.loadPlayerData(player);
-            effectsHandler.loadPlayerActiveEffect(player);
+            playerSessionHandler.loadSession(player);
         }
     }
 
@@ -179,6 +192,8 @@ public final class ElytraEssentials extends JavaPlugin {
         this.databaseHandler = new DatabaseHandler(this, this.configHandler, this.foliaHelper, this.messagesHelper,
                 getLogger());
         databaseHandler.initialize();
+        this.persistenceHandler = new PersistenceHandler(this.databaseHandler, this.configHandler, this.foliaHelper,
+                this.messagesHelper, getLogger());
 
         // Handlers Initialization
         if (isPacketEventsEnabled){
@@ -189,31 +204,41 @@ public final class ElytraEssentials extends JavaPlugin {
         this.tpsHandler = new TpsHandler(this.foliaHelper, this.messagesHelper);
         this.effectsHandler = new EffectsHandler(this, fileHelper.getShopConfig(), this.foliaHelper, this.databaseHandler,
                 this.messagesHelper, this.serverVersion, this.economy, this.tpsHandler, this.messagesHandler, getLogger());
-        this.statsHandler = new StatsHandler(getLogger(), this.databaseHandler, this.foliaHelper, this.messagesHelper,
-                this.effectsHandler);
+        this.leaderboardHandler = new LeaderboardHandler(this.databaseHandler, this.foliaHelper, this.messagesHelper, getLogger());
+        this.statsHandler = new StatsHandler(getLogger(), this.databaseHandler, this.persistenceHandler, this.foliaHelper,
+                this.messagesHelper, this.effectsHandler, this.leaderboardHandler);
         this.achievementsHandler = new AchievementsHandler(this.databaseHandler, this.statsHandler, this.foliaHelper,
                 this.messagesHelper, this.fileHelper.getAchievementsConfig(), getLogger(), this.messagesHandler);
+        this.statsHandler.setStatChangeListener(this.achievementsHandler::onStatChanged);
 
-        this.boostHandler = new BoostHandler(this, this.foliaHelper, this.messagesHelper, this.serverVersion,
+        this.bossBarHandler = new BossBarHandler();
+        this.boostHandler = new BoostHandler(this.bossBarHandler, this.foliaHelper, this.messagesHelper, this.serverVersion,
                 this.statsHandler, this.configHandler, this.messagesHandler, this.upgradeHandler, this.jumpAnimationHandler);
-        this.flightHandler = new FlightHandler(getLogger(), this.configHandler, this.effectsHandler, this.boostHandler,
-                this.foliaHelper, this.messagesHelper, this.databaseHandler, this.statsHandler, this.messagesHandler,
-                this.upgradeHandler, armoredElytraHelper);
+        this.flightHandler = new FlightHandler(getLogger(), this.configHandler, this.effectsHandler,
+                this.foliaHelper, this.messagesHelper, this.databaseHandler, this.persistenceHandler, this.statsHandler,
+                this.messagesHandler, this.upgradeHandler, armoredElytraHelper, this.bossBarHandler);
         this.boostHandler.setFlightHandler(this.flightHandler);
+        this.flightTickHandler = new FlightTickHandler(this.flightHandler, this.configHandler, this.foliaHelper);
+        this.playerSessionHandler = new PlayerSessionHandler(this.databaseHandler, this.persistenceHandler, this.flightHandler,
+                this.statsHandler, this.effectsHandler, this.achievementsHandler, this.foliaHelper, getLogger());
+        this.importHandler = new ImportHandler(this.databaseHandler, this.persistenceHandler, this.playerSessionHandler,
+                this.leaderboardHandler, this.foliaHelper, this.messagesHelper, getLogger());
+        this.storageMigrationHandler = new StorageMigrationHandler(this.databaseHandler, this.foliaHelper, this.messagesHelper, getLogger());
 
         this.recoveryHandler = new RecoveryHandler(this.flightHandler, this.configHandler, this.foliaHelper);
-        this.combatTagHandler = new CombatTagHandler(this.configHandler, this.messagesHelper, this.foliaHelper, this.messagesHandler);
+        this.autoSaveHandler = new AutoSaveHandler(this.statsHandler, this.flightHandler, this.configHandler, this.foliaHelper, this.messagesHelper);
+        this.combatTagHandler = new CombatTagHandler(this.configHandler, this.messagesHelper, this.foliaHelper, this.messagesHandler,
+                this.bossBarHandler);
         this.elytraEquipHandler = new ElytraEquipHandler(this.configHandler, this.messagesHelper, this.foliaHelper, this.messagesHandler);
         this.armoredElytraHandler = new ArmoredElytraHandler(this, this.configHandler, this.foliaHelper, this.armoredElytraHelper,
                 this.messagesHelper, this.messagesHandler, this.upgradeHandler);
 
-        this.effectsGuiHandler = new EffectsGuiHandler(this, this.effectsHandler, this.databaseHandler, this.foliaHelper, this.messagesHelper, getLogger());
+        this.effectsGuiHandler = new EffectsGuiHandler(this, this.effectsHandler, this.foliaHelper, this.messagesHelper, getLogger());
         this.shopGuiHandler = new ShopGuiHandler(this, this.effectsHandler, this.effectsGuiHandler, getLogger());
         this.effectsGuiHandler.setShopGuiHandler(this.shopGuiHandler);
         this.forgeGuiHandler = new ForgeGuiHandler(this.configHandler, this.armoredElytraHelper, this.foliaHelper,
                 this.messagesHandler, this.messagesHelper, this.economy, this);
-        this.achievementsGuiHandler = new AchievementsGuiHandler(getLogger(), this.databaseHandler, this.foliaHelper, this.messagesHelper,
-                this.achievementsHandler, this.statsHandler);
+        this.achievementsGuiHandler = new AchievementsGuiHandler(this.messagesHelper, this.achievementsHandler, this.statsHandler);
         this.upgradeGuiHandler = new UpgradeGuiHandler(this, this.armoredElytraHelper, this.configHandler,
                 this.messagesHelper, this.economy, this.armoredElytraHandler, this.upgradeHandler);
 
@@ -231,7 +256,7 @@ public final class ElytraEssentials extends JavaPlugin {
         getLogger().info("Registering event listeners...");
 
         // Initialize all listeners and store their instances
-        var elytraFlightListener = new ElytraFlightListener(this.flightHandler, this.statsHandler, this.effectsHandler);
+        var elytraFlightListener = new ElytraFlightListener(this.flightHandler, this.flightTickHandler, this.statsHandler, this.playerSessionHandler);
         var elytraBoostListener = new BoostListener(this.boostHandler);
         var elytraEquipListener = new ElytraEquipListener(this.elytraEquipHandler);
         var elytraUpdaterListener = new ElytraUpdaterListener(this.messagesHelper, this.configHandler, this.pluginInfoHandler);
@@ -260,12 +285,13 @@ public final class ElytraEssentials extends JavaPlugin {
         var reloadCommand = new ReloadCommand(this, this.messagesHelper, this.messagesHandler);
         var flightTimeCommand = new FlightTimeCommand(this.flightHandler, this.configHandler, this.messagesHelper, this.foliaHelper, this.messagesHandler);
         var shopCommand = new ShopCommand(this.shopGuiHandler, this.messagesHelper, this.messagesHandler);
-        var effectsCommand = new EffectsCommand(getLogger(), this.effectsGuiHandler, this.effectsHandler, this.databaseHandler, this.foliaHelper, this.messagesHelper, this.messagesHandler);
+        var effectsCommand = new EffectsCommand(getLogger(), this.effectsGuiHandler, this.effectsHandler, this.foliaHelper, this.messagesHelper, this.messagesHandler);
         var statsCommand = new StatsCommand(this.statsHandler, this.messagesHelper, this.messagesHandler);
         var topCommand = new TopCommand(this.statsHandler, this.messagesHelper, this.messagesHandler);
         var forgeCommand = new ForgeCommand(this.forgeGuiHandler, this.configHandler, this.messagesHelper, this.messagesHandler);
         var armorCommand = new ArmorCommand(this, this.messagesHelper, this.economy, this.configHandler, this.messagesHandler, this.armoredElytraHelper);
-        var importDbCommand = new ImportDbCommand(this, messagesHandler, this.messagesHelper, this.databaseHandler);
+        var importDbCommand = new ImportDbCommand(this, messagesHandler, this.messagesHelper, this.databaseHandler, this.importHandler);
+        var migrateStorageCommand = new MigrateStorageCommand(this.storageMigrationHandler, this.messagesHelper, this.messagesHandler);
         var achievementsCommand = new AchievementsCommand(this.achievementsGuiHandler, this.messagesHelper, this.messagesHandler);
         var tandemCommand = new TandemCommand(this.tandemHandler, this.messagesHelper, this.messagesHandler, this.configHandler);
         var upgradeCommand = new UpgradeCommand(this.upgradeGuiHandler, this.armoredElytraHelper, this.messagesHelper, this.messagesHandler);
@@ -281,6 +307,7 @@ public final class ElytraEssentials extends JavaPlugin {
         mainCommand.registerSubCommand("forge", forgeCommand);
         mainCommand.registerSubCommand("armor", armorCommand);
         mainCommand.registerSubCommand("importdb", importDbCommand);
+        mainCommand.registerSubCommand("migrate-storage", migrateStorageCommand);
         mainCommand.registerSubCommand("achievements", achievementsCommand);
         mainCommand.registerSubCommand("tandem", tandemCommand);
         mainCommand.registerSubCommand("upgrade", upgradeCommand);
@@ -338,6 +365,9 @@ public final class ElytraEssentials extends JavaPlugin {
     }
 
     public void shutdownAllPluginTasks() {
+        if (autoSaveHandler != null)
+            autoSaveHandler.shutdown();
+
         if (recoveryHandler != null)
             recoveryHandler.shutdown();
 
@@ -347,18 +377,29 @@ public final class ElytraEssentials extends JavaPlugin {
         if (statsHandler != null)
             statsHandler.shutdown();
 
-        if (achievementsHandler != null)
-            achievementsHandler.shutdown();
-
         if (combatTagHandler != null)
             combatTagHandler.shutdown();
 
         if (tandemHandler != null)
             tandemHandler.shutdown();
 
+        if (boostHandler != null)
+            boostHandler.shutdown();
+
+        if (flightTickHandler != null)
+            flightTickHandler.shutdown();
+
         if (flightHandler != null)
             flightHandler.shutdown();
 
+        // After the handlers above have hidden the bars they were showing
+        if (bossBarHandler != null)
+            bossBarHandler.shutdown();
+
+        // Drain queued player data after the handlers above have handed over their final state
+        if (persistenceHandler != null)
+            persistenceHandler.shutdown();
+
         if (databaseHandler != null)
             databaseHandler.shutdown();
     }
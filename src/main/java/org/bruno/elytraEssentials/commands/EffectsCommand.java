@@ -1,6 +1,5 @@
 package org.bruno.elytraEssentials.commands;
 
-import org.bruno.elytraEssentials.handlers.DatabaseHandler;
 import org.bruno.elytraEssentials.handlers.EffectsHandler;
 import org.bruno.elytraEssentials.gui.effects.EffectsGuiHandler;
 import org.bruno.elytraEssentials.handlers.MessagesHandler;
@@ -21,17 +20,15 @@ public class EffectsCommand implements SubCommand {
     private final Logger logger;
     private final EffectsGuiHandler effectsGuiHandler;
     private final EffectsHandler effectsHandler;
-    private final DatabaseHandler databaseHandler;
     private final FoliaHelper foliaHelper;
     private final MessagesHelper messagesHelper;
     private final MessagesHandler messagesHandler;
 
-    public EffectsCommand(Logger logger, EffectsGuiHandler guiHandler, EffectsHandler effectsHandler, DatabaseHandler dbHandler, FoliaHelper fHelper,
+    public EffectsCommand(Logger logger, EffectsGuiHandler guiHandler, EffectsHandler effectsHandler, FoliaHelper fHelper,
                           MessagesHelper messagesHelper, MessagesHandler messagesHandler) {
         this.logger = logger;
         this.effectsGuiHandler = guiHandler;
         this.effectsHandler = effectsHandler;
-        this.databaseHandler = dbHandler;
         this.foliaHelper = fHelper;
         this.messagesHelper = messagesHelper;
         this.messagesHandler = messagesHandler;
@@ -124,8 +121,7 @@ public class EffectsCommand implements SubCommand {
         // Use the Folia-safe async task
         foliaHelper.runAsyncTask(() -> {
             try {
-                List<String> ownedKeys = databaseHandler.getOwnedEffectKeys(target.getUniqueId());
-                if (ownedKeys.contains(effectKey)) {
+                if (!effectsHandler.grantEffect(target.getUniqueId(), effectKey)) {
                     // Return to the main thread to send the message
                     foliaHelper.runTaskOnMainThread(() ->
                             messagesHelper.sendCommandSenderMessage(sender,"&c" + target.getName() + " already owns this effect.")
@@ -133,8 +129,6 @@ public class EffectsCommand implements SubCommand {
                     return;
                 }
 
-                databaseHandler.addOwnedEffect(target.getUniqueId(), effectKey);
-
                 // Return to the main thread to send the message
                 foliaHelper.runTaskOnMainThread(() ->
                         messagesHelper.sendCommandSenderMessage(sender, messagesHandler.getGiveEffectSuccess().replace("{0}", effectKey).replace("{1}", target.getName()))
@@ -176,16 +170,13 @@ public class EffectsCommand implements SubCommand {
         // Use the Folia-safe async task
         foliaHelper.runAsyncTask(() -> {
             try {
-                List<String> ownedKeys = databaseHandler.getOwnedEffectKeys(target.getUniqueId());
-                if (!ownedKeys.contains(effectKey)) {
+                if (!effectsHandler.revokeEffect(target.getUniqueId(), effectKey)) {
                     foliaHelper.runTaskOnMainThread(() ->
                             messagesHelper.sendCommandSenderMessage(sender,"&c" + target.getName() + " does not own this effect.")
                     );
                     return;
                 }
 
-                databaseHandler.removeOwnedEffect(target.getUniqueId(), effectKey);
-
                 foliaHelper.runTaskOnMainThread(() ->
                         messagesHelper.sendCommandSenderMessage(sender,"&aSuccessfully removed the " + effectKey + " effect from " + target.getName() + ".")
                 );
@@ -221,7 +212,7 @@ public class EffectsCommand implements SubCommand {
         foliaHelper.runAsyncTask(() -> {
             Set<String> allOwnedEffects;
             try {
-                allOwnedEffects = new HashSet<>(databaseHandler.getOwnedEffectKeys(target.getUniqueId()));
+                allOwnedEffects = new HashSet<>(effectsHandler.getOwnedEffects(target.getUniqueId()));
             } catch (SQLException e) {
                 foliaHelper.runTaskOnMainThread(() ->
                         messagesHelper.sendCommandSenderMessage(sender,"&cA database error occurred while fetching owned effects.")
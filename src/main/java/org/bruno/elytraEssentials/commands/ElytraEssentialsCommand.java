@@ -84,6 +84,7 @@ public class ElytraEssentialsCommand implements CommandExecutor, TabCompleter {
             if (PermissionsHelper.hasForgePermission(sender)) completions.add("forge");
             if (PermissionsHelper.hasArmorPermission(sender)) completions.add("armor");
             if (PermissionsHelper.hasImportDbPermission(sender)) completions.add("importdb");
+            if (PermissionsHelper.hasMigrateStoragePermission(sender)) completions.add("migrate-storage");
             if (PermissionsHelper.hasAchievementsPermission(sender)) completions.add("achievements");
             if (PermissionsHelper.hasTandemInvitePermission(sender)) completions.add("tandem");
             if (PermissionsHelper.hasUpgradePermission(sender)) completions.add("upgrade");
@@ -54,6 +54,7 @@ public class HelpCommand implements SubCommand {
         allCommands.add(new HelpEntry("/ee armor repair", "Repairs your worn Armored Elytra.", Constants.Permissions.CMD_REPAIR));
 
         allCommands.add(new HelpEntry("/ee importdb <file> --confirm", "Restores a database backup.", Constants.Permissions.CMD_IMPORT_DB));
+        allCommands.add(new HelpEntry("/ee migrate-storage [--overwrite]", "Copies all data to the other storage type (SQLite/MySQL).", Constants.Permissions.CMD_MIGRATE_STORAGE));
 
         allCommands.add(new HelpEntry("/ee achievements", "Opens the achievements GUI.", Constants.Permissions.CMD_ACHIEVEMENTS));
 
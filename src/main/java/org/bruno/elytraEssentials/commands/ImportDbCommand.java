@@ -2,6 +2,7 @@ package org.bruno.elytraEssentials.commands;
 
 import org.bruno.elytraEssentials.ElytraEssentials;
 import org.bruno.elytraEssentials.handlers.DatabaseHandler;
+import org.bruno.elytraEssentials.handlers.ImportHandler;
 import org.bruno.elytraEssentials.handlers.MessagesHandler;
 import org.bruno.elytraEssentials.helpers.MessagesHelper;
 import org.bruno.elytraEssentials.helpers.PermissionsHelper;
@@ -17,12 +18,15 @@ public class ImportDbCommand implements SubCommand {
     private final MessagesHandler messagesHandler;
     private final MessagesHelper messagesHelper;
     private final DatabaseHandler databaseHandler;
+    private final ImportHandler importHandler;
 
-    public ImportDbCommand(ElytraEssentials plugin, MessagesHandler messagesHandler, MessagesHelper messagesHelper, DatabaseHandler databaseHandler) {
+    public ImportDbCommand(ElytraEssentials plugin, MessagesHandler messagesHandler, MessagesHelper messagesHelper, DatabaseHandler databaseHandler,
+                           ImportHandler importHandler) {
         this.plugin = plugin;
         this.messagesHandler = messagesHandler;
         this.messagesHelper = messagesHelper;
         this.databaseHandler = databaseHandler;
+        this.importHandler = importHandler;
     }
 
     @Override
@@ -56,7 +60,7 @@ public class ImportDbCommand implements SubCommand {
             sender.sendMessage("");
             sender.sendMessage("§c§lWARNING: §r§cThis is a destructive operation!");
             sender.sendMessage("§eThis will overwrite all current player data with the selected backup.");
-            sender.sendMessage("§eAll online players will be kicked from the server.");
+            sender.sendMessage("§eOnline players stay connected and their data is reloaded once the import finishes.");
             sender.sendMessage("§6To proceed, run the command again with '--confirm' at the end.");
             sender.sendMessage("§f/ee importdb " + backupFileName + " --confirm");
             sender.sendMessage("");
@@ -64,7 +68,7 @@ public class ImportDbCommand implements SubCommand {
         }
 
         // Delegate the entire complex process to the handler
-        databaseHandler.importFromBackup(backupFileName, sender, backupFile);
+        importHandler.importBackup(sender, backupFile);
         return true;
     }
 
@@ -0,0 +1,43 @@
+package org.bruno.elytraEssentials.commands;
+
+import org.bruno.elytraEssentials.handlers.MessagesHandler;
+import org.bruno.elytraEssentials.handlers.StorageMigrationHandler;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bruno.elytraEssentials.helpers.PermissionsHelper;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+public class MigrateStorageCommand implements SubCommand {
+    private final StorageMigrationHandler storageMigrationHandler;
+    private final MessagesHelper messagesHelper;
+    private final MessagesHandler messagesHandler;
+
+    public MigrateStorageCommand(StorageMigrationHandler storageMigrationHandler, MessagesHelper messagesHelper, MessagesHandler messagesHandler) {
+        this.storageMigrationHandler = storageMigrationHandler;
+        this.messagesHelper = messagesHelper;
+        this.messagesHandler = messagesHandler;
+    }
+
+    @Override
+    public boolean execute(CommandSender sender, String[] args) {
+        if (!PermissionsHelper.hasMigrateStoragePermission(sender)) {
+            messagesHelper.sendCommandSenderMessage(sender, messagesHandler.getNoPermissionMessage());
+            return true;
+        }
+
+        boolean overwrite = args.length > 0 && args[0].equalsIgnoreCase("--overwrite");
+
+        // Delegate the entire process to the handler, it runs in the background
+        storageMigrationHandler.migrate(sender, overwrite);
+        return true;
+    }
+
+    @Override
+    public List<String> getSubcommandCompletions(CommandSender sender, String[] args) {
+        if (args.length == 2 && "--overwrite".startsWith(args[1].toLowerCase())) {
+            return List.of("--overwrite");
+        }
+        return List.of();
+    }
+}
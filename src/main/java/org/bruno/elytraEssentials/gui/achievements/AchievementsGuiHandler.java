@@ -1,10 +1,8 @@
 package org.bruno.elytraEssentials.gui.achievements;
 
 import org.bruno.elytraEssentials.handlers.AchievementsHandler;
-import org.bruno.elytraEssentials.handlers.DatabaseHandler;
 import org.bruno.elytraEssentials.handlers.StatsHandler;
 import org.bruno.elytraEssentials.helpers.ColorHelper;
-import org.bruno.elytraEssentials.helpers.FoliaHelper;
 import org.bruno.elytraEssentials.helpers.GuiHelper;
 import org.bruno.elytraEssentials.helpers.MessagesHelper;
 import org.bruno.elytraEssentials.utils.Constants;
@@ -20,15 +18,9 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.sql.SQLException;
 import java.util.*;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 public class AchievementsGuiHandler {
-    private final Logger logger;
-    private final DatabaseHandler databaseHandler;
-    private final FoliaHelper foliaHelper;
     private final MessagesHelper messagesHelper;
     private final AchievementsHandler achievementsHandler;
     private final StatsHandler statsHandler;
@@ -54,40 +46,28 @@ public class AchievementsGuiHandler {
         StatType.SAVES
     );
 
-    public AchievementsGuiHandler(Logger logger, DatabaseHandler databaseHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper,
-                                  AchievementsHandler achievementsHandler, StatsHandler statsHandler) {
-        this.logger = logger;
-        this.databaseHandler = databaseHandler;
-        this.foliaHelper = foliaHelper;
+    public AchievementsGuiHandler(MessagesHelper messagesHelper, AchievementsHandler achievementsHandler, StatsHandler statsHandler) {
         this.messagesHelper = messagesHelper;
         this.achievementsHandler = achievementsHandler;
         this.statsHandler = statsHandler;
     }
 
     /**
-     * Asynchronously builds and opens the achievements GUI for a player.
+     * Builds and opens the achievements GUI for a player from their cached achievements.
      */
     public void open(Player player, int page, StatType filter) {
+        BitSet unlockedAchievements = achievementsHandler.getUnlockedAchievements(player.getUniqueId());
+        if (unlockedAchievements == null) {
+            messagesHelper.sendPlayerMessage(player, "&cYour achievement data is still loading. Please try again in a moment.");
+            return;
+        }
+
         playerStates.put(player.getUniqueId(), new PlayerGuiState(page, filter));
 
-        // Fetch player's unlocked achievements from the DB on a background thread
-        foliaHelper.runAsyncTask(() -> {
-            try {
-                Set<String> unlockedAchievements = databaseHandler.getUnlockedAchievementIds(player.getUniqueId());
-
-                // Now that we have the data, build and open the GUI on the main thread
-                foliaHelper.runTaskOnMainThread(() -> {
-                    Inventory gui = Bukkit.createInventory(new AchievementsHolder(), Constants.GUI.ACHIEVEMENTS_INVENTORY_SIZE, Constants.GUI.ACHIEVEMENTS_INVENTORY_NAME);
-                    populateItems(gui, player, page, filter);
-                    addControlButtons(gui, page, filter);
-                    player.openInventory(gui);
-                });
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Failed to fetch achievements for player " + player.getName(), e);
-                foliaHelper.runTaskOnMainThread(() ->
-                        messagesHelper.sendPlayerMessage(player,"&cCould not load your achievement data."));
-            }
-        });
+        Inventory gui = Bukkit.createInventory(new AchievementsHolder(), Constants.GUI.ACHIEVEMENTS_INVENTORY_SIZE, Constants.GUI.ACHIEVEMENTS_INVENTORY_NAME);
+        populateItems(gui, player, page, filter, unlockedAchievements);
+        addControlButtons(gui, page, filter);
+        player.openInventory(gui);
     }
 
     /**
@@ -152,22 +132,13 @@ public class AchievementsGuiHandler {
         }
     }
 
-    private void populateItems(Inventory gui, Player player, int page, StatType filter) {
+    private void populateItems(Inventory gui, Player player, int page, StatType filter, BitSet unlockedAchievements) {
         //  Filtering Logic
         List<AchievementsHandler.Achievement> achievementsToDisplay = achievementsHandler.getAllAchievements().stream()
                 .filter(ach -> filter == StatType.UNKNOWN || ach.type() == filter)
                 .sorted(Comparator.comparingDouble(AchievementsHandler.Achievement::value))
                 .toList();
 
-        Set<String> unlockedAchievements;
-        try {
-            unlockedAchievements = databaseHandler.getUnlockedAchievementIds(player.getUniqueId());
-        } catch (SQLException e) {
-            messagesHelper.sendPlayerMessage(player,"&cCould not load your achievement data.");
-            logger.log(Level.SEVERE, "Failed to fetch achievements for player " + player.getName(), e);
-            return;
-        }
-
         //  Populate items using the defined list of slots
         int startIndex = page * Constants.GUI.ACHIEVEMENTS_ITEMS_PER_PAGE;
         for (int i = 0; i < Constants.GUI.ACHIEVEMENTS_ITEMS_PER_PAGE; i++) {
@@ -180,7 +151,7 @@ public class AchievementsGuiHandler {
                 // If there is an achievement for this slot, create and place it
                 AchievementsHandler.Achievement achievement = achievementsToDisplay.get(listIndex);
 
-                boolean isUnlocked = unlockedAchievements.contains(achievement.id());
+                boolean isUnlocked = unlockedAchievements.get(achievement.ordinal());
                 ItemStack displayItem = createAchievementItem(player, achievement, isUnlocked);
                 gui.setItem(slot, displayItem);
             }
@@ -2,7 +2,6 @@ package org.bruno.elytraEssentials.gui.effects;
 
 import org.bruno.elytraEssentials.ElytraEssentials;
 import org.bruno.elytraEssentials.gui.shop.ShopGuiHandler;
-import org.bruno.elytraEssentials.handlers.DatabaseHandler;
 import org.bruno.elytraEssentials.handlers.EffectsHandler;
 import org.bruno.elytraEssentials.helpers.FoliaHelper;
 import org.bruno.elytraEssentials.helpers.GuiHelper;
@@ -29,18 +28,16 @@ import java.util.logging.Logger;
 public class EffectsGuiHandler {
     private final ElytraEssentials plugin;
     private final EffectsHandler effectsHandler;
-    private final DatabaseHandler databaseHandler;
     private final FoliaHelper foliaHelper;
     private final MessagesHelper messagesHelper;
     private final Logger logger;
 
     private ShopGuiHandler shopGuiHandler;
 
-    public EffectsGuiHandler(ElytraEssentials plugin, EffectsHandler effectsHandler, DatabaseHandler databaseHandler, FoliaHelper foliaHelper,
+    public EffectsGuiHandler(ElytraEssentials plugin, EffectsHandler effectsHandler, FoliaHelper foliaHelper,
                              MessagesHelper messagesHelper, Logger logger) {
         this.plugin = plugin;
         this.effectsHandler = effectsHandler;
-        this.databaseHandler = databaseHandler;
         this.foliaHelper = foliaHelper;
         this.messagesHelper = messagesHelper;
         this.logger = logger;
@@ -51,48 +48,20 @@ public class EffectsGuiHandler {
     }
 
     /**
-     * Asynchronously builds and opens the "Owned Effects" GUI for a player.
+     * Builds and opens the "Owned Effects" GUI for a player. Owned effects come from the session cache,
+     * the database is only asked while the player's session is still loading.
      */
     public void open(Player player) {
+        Set<String> cachedEffects = effectsHandler.getCachedOwnedEffects(player.getUniqueId());
+        if (cachedEffects != null) {
+            show(player, getKeysToDisplay(player, cachedEffects));
+            return;
+        }
+
         foliaHelper.runAsyncTask(() -> {
             try {
-                // Get the player's owned effects from the database or permissions
-                List<String> playerEffects;
-                if (PermissionsHelper.hasAllEffectsPermission(player)){
-                    playerEffects = new ArrayList<>(effectsHandler.getEffectsRegistry().keySet());
-                }else {
-                    //  Get Owned effects from the database
-                    playerEffects = databaseHandler.getOwnedEffectKeys(player.getUniqueId());
-
-                    if (playerEffects.size() < effectsHandler.getEffectsRegistry().size()){
-                        // check if the player has permission for a specific effect and add it to the list
-                        for (ElytraEffect effect : effectsHandler.getEffectsRegistry().values()) {
-                            if (effect == null) {
-                                continue;
-                            }
-
-                            if (player.hasPermission(effect.getPermission()) && !playerEffects.contains(effect.getKey())) {
-                                playerEffects.add(effect.getKey());
-                            }
-                        }
-                    }
-                }
-
-                var keysToDisplay = playerEffects;
-
-                // Now that we have the data, switch back to the main thread to create and open the GUI
-                foliaHelper.runTaskOnMainThread(() -> {
-                    Inventory gui = Bukkit.createInventory(new EffectsHolder(), Constants.GUI.EFFECTS_INVENTORY_SIZE, Constants.GUI.EFFECTS_INVENTORY_NAME);
-                    addControlButtons(gui);
-
-                    if (keysToDisplay.isEmpty()) {
-                        gui.setItem(13, effectsHandler.createEmptyItemStack());
-                    } else {
-                        populateOwnedItems(gui, player, keysToDisplay);
-                    }
-                    player.openInventory(gui);
-                });
-
+                List<String> keysToDisplay = getKeysToDisplay(player, effectsHandler.getOwnedEffects(player.getUniqueId()));
+                foliaHelper.runTaskOnMainThread(() -> show(player, keysToDisplay));
             } catch (SQLException e) {
                 logger.log(Level.SEVERE, "Failed to open owned effects GUI for " + player.getName(), e);
                 foliaHelper.runTaskOnMainThread(() ->
@@ -101,6 +70,42 @@ public class EffectsGuiHandler {
         });
     }
 
+    /**
+     * Combines the effects a player bought with the ones they have through permissions.
+     */
+    private List<String> getKeysToDisplay(Player player, Collection<String> ownedEffects) {
+        if (PermissionsHelper.hasAllEffectsPermission(player)) {
+            return new ArrayList<>(effectsHandler.getEffectsRegistry().keySet());
+        }
+
+        List<String> playerEffects = new ArrayList<>(ownedEffects);
+        if (playerEffects.size() < effectsHandler.getEffectsRegistry().size()) {
+            // check if the player has permission for a specific effect and add it to the list
+            for (ElytraEffect effect : effectsHandler.getEffectsRegistry().values()) {
+                if (effect == null) {
+                    continue;
+                }
+
+                if (player.hasPermission(effect.getPermission()) && !playerEffects.contains(effect.getKey())) {
+                    playerEffects.add(effect.getKey());
+                }
+            }
+        }
+        return playerEffects;
+    }
+
+    private void show(Player player, List<String> keysToDisplay) {
+        Inventory gui = Bukkit.createInventory(new EffectsHolder(), Constants.GUI.EFFECTS_INVENTORY_SIZE, Constants.GUI.EFFECTS_INVENTORY_NAME);
+        addControlButtons(gui);
+
+        if (keysToDisplay.isEmpty()) {
+            gui.setItem(13, effectsHandler.createEmptyItemStack());
+        } else {
+            populateOwnedItems(gui, player, keysToDisplay);
+        }
+        player.openInventory(gui);
+    }
+
     /**
      * Handles all click events for the effects GUI.
      */
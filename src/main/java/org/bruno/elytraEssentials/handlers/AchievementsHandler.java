@@ -3,7 +3,6 @@ package org.bruno.elytraEssentials.handlers;
 import org.bruno.elytraEssentials.helpers.ColorHelper;
 import org.bruno.elytraEssentials.helpers.FoliaHelper;
 import org.bruno.elytraEssentials.helpers.MessagesHelper;
-import org.bruno.elytraEssentials.utils.CancellableTask;
 import org.bruno.elytraEssentials.utils.PlayerStats;
 import org.bruno.elytraEssentials.utils.StatType;
 import org.bukkit.*;
@@ -14,13 +13,18 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.meta.FireworkMeta;
 
 import java.sql.SQLException;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Awards achievements once a player's stats reach their thresholds.
+ * <p>
+ * Each player's unlocked achievements are loaded once per session into a bit set indexed by achievement ordinal.
+ * Achievements are indexed per stat by threshold, and every stat change only looks at the next threshold the player
+ * hasn't unlocked, so awards are instant and never touch the database. They are saved in the background.
+ */
 public class AchievementsHandler {
 
     private final DatabaseHandler databaseHandler;
@@ -31,13 +35,92 @@ public class AchievementsHandler {
     private final Logger logger;
     private final MessagesHandler messagesHandler;
 
-    private final Map<String, Achievement> achievements = new HashMap<>();
-    private CancellableTask checkTask;
+    // Replaced as a whole on load, so readers always see a consistent set of definitions.
+    private volatile Definitions definitions = Definitions.EMPTY;
 
-    public record Achievement(String id, String name, StatType type, double value, String description,
+    private final Map<UUID, Progress> playerProgress = new ConcurrentHashMap<>();
+
+    // Awards not yet saved, merged into sessions that load before the save finishes.
+    private final Map<UUID, Set<String>> pendingAwards = new ConcurrentHashMap<>();
+
+    public record Achievement(int ordinal, String id, String name, StatType type, double value, String description,
                               Material displayItem,
                               String message, List<String> commands, List<String> rewards, boolean broadcast) {}
 
+    /**
+     * The loaded achievements, by ordinal and per stat sorted by threshold.
+     */
+    private record Definitions(List<Achievement> all, Map<String, Integer> ordinals, Achievement[][] byStat) {
+        static final Definitions EMPTY = of(List.of());
+
+        static Definitions of(List<Achievement> achievements) {
+            Map<String, Integer> ordinals = new HashMap<>();
+            Map<StatType, List<Achievement>> grouped = new EnumMap<>(StatType.class);
+            for (Achievement achievement : achievements) {
+                ordinals.put(achievement.id(), achievement.ordinal());
+                grouped.computeIfAbsent(achievement.type(), k -> new ArrayList<>()).add(achievement);
+            }
+
+            Achievement[][] byStat = new Achievement[StatType.values().length][];
+            for (StatType type : StatType.values()) {
+                byStat[type.ordinal()] = grouped.getOrDefault(type, List.of()).stream()
+                        .sorted(Comparator.comparingDouble(Achievement::value))
+                        .toArray(Achievement[]::new);
+            }
+            return new Definitions(List.copyOf(achievements), Map.copyOf(ordinals), byStat);
+        }
+    }
+
+    /**
+     * A player's unlocked achievements and, per stat, the index of the next threshold they haven't unlocked.
+     * Guarded by synchronizing on the instance.
+     */
+    private static final class Progress {
+        private Definitions definitions;
+        private BitSet unlocked;
+        private final int[] nextIndex = new int[StatType.values().length];
+
+        Progress(Definitions definitions, BitSet unlocked) {
+            this.definitions = definitions;
+            this.unlocked = unlocked;
+            resetIndexes();
+        }
+
+        /** Moves the unlocked bits to the ordinals of newer definitions. */
+        void adopt(Definitions newer) {
+            if (newer == definitions) return;
+
+            BitSet remapped = new BitSet(newer.all().size());
+            for (int i = unlocked.nextSetBit(0); i >= 0; i = unlocked.nextSetBit(i + 1)) {
+                Integer ordinal = newer.ordinals().get(definitions.all().get(i).id());
+                if (ordinal != null) remapped.set(ordinal);
+            }
+            this.definitions = newer;
+            this.unlocked = remapped;
+            resetIndexes();
+        }
+
+        /** Locks an achievement again, so it is awarded the next time its threshold is checked. */
+        void revoke(String achievementId) {
+            Integer ordinal = definitions.ordinals().get(achievementId);
+            if (ordinal == null) return;
+
+            unlocked.clear(ordinal);
+            resetIndexes();
+        }
+
+        private void resetIndexes() {
+            for (int stat = 0; stat < nextIndex.length; stat++) {
+                nextIndex[stat] = skipUnlocked(definitions.byStat()[stat], 0);
+            }
+        }
+
+        private int skipUnlocked(Achievement[] thresholds, int index) {
+            while (index < thresholds.length && unlocked.get(thresholds[index].ordinal())) index++;
+            return index;
+        }
+    }
+
     public AchievementsHandler(DatabaseHandler databaseHandler, StatsHandler statsHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper,
                                FileConfiguration fileConfiguration, Logger logger, MessagesHandler messagesHandler) {
         this.databaseHandler = databaseHandler;
@@ -55,10 +138,11 @@ public class AchievementsHandler {
      * Loads all achievement definitions from the achievements.yml file into memory.
      */
     public void loadAchievements() {
-        achievements.clear();
+        List<Achievement> loaded = new ArrayList<>();
         ConfigurationSection achievementsSection = fileConfiguration.getConfigurationSection("achievements");
         if (achievementsSection == null) {
             logger.warning("No 'achievements' section found in achievements.yml.");
+            this.definitions = Definitions.of(loaded);
             return;
         }
 
@@ -76,71 +160,98 @@ public class AchievementsHandler {
                 List<String> rewards = fileConfiguration.getStringList(path + ".rewards");
                 boolean broadcast = fileConfiguration.getBoolean(path + ".broadcast", true);
 
-                achievements.put(key, new Achievement(key, name, type, value, description, displayItem, message, commands, rewards, broadcast));
+                loaded.add(new Achievement(loaded.size(), key, name, type, value, description, displayItem, message, commands, rewards, broadcast));
             } catch (Exception e) {
                 logger.log(Level.WARNING, "Failed to load achievement '" + key + "'. Please check its format in achievements.yml.", e);
             }
         }
+        // Online players move to the new ordinals the next time their progress is touched.
+        this.definitions = Definitions.of(loaded);
+    }
+
+    public Collection<Achievement> getAllAchievements() {
+        return definitions.all();
     }
 
     /**
-     * Starts the repeating task that checks for new achievements for online players.
+     * Receives the achievements a player has already unlocked from the session loader, then awards every
+     * threshold their stats have already reached, e.g. of achievements added since their last session.
+     * Must run after their stats were applied.
      */
-    public void start() {
-        if (checkTask != null) return;
-
-        // Use the Folia-safe global timer to run our check every minute.
-        this.checkTask = foliaHelper.runTaskTimerGlobal(() -> {
-            // The check itself involves database calls, so run it asynchronously.
-            foliaHelper.runAsyncTask(() -> {
-                for (Player player : Bukkit.getOnlinePlayers()) {
-                    checkAndAwardAchievements(player);
-                }
-            });
-        }, 20L * 60, 20L * 60); // Delay 1 min, repeat every 1 min
+    public void applyUnlockedAchievements(UUID playerId, Set<String> achievementIds) {
+        Definitions current = this.definitions;
+        BitSet unlocked = new BitSet(current.all().size());
+        Set<String> pending = pendingAwards.getOrDefault(playerId, Set.of());
+        for (String id : achievementIds) {
+            Integer ordinal = current.ordinals().get(id);
+            if (ordinal != null) unlocked.set(ordinal); // Achievements removed from achievements.yml are ignored.
+        }
+        for (String id : pending) {
+            Integer ordinal = current.ordinals().get(id);
+            if (ordinal != null) unlocked.set(ordinal);
+        }
+        playerProgress.put(playerId, new Progress(current, unlocked));
+
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null) return;
+
+        PlayerStats stats = statsHandler.getStats(player);
+        for (StatType type : StatType.values()) {
+            onStatChanged(stats, type, getStatValue(stats, type));
+        }
     }
 
     /**
-     * Stops the achievement checking task. Renamed for consistency.
+     * @return A copy of the player's unlocked achievements, indexed by {@link Achievement#ordinal()},
+     * or {@code null} if their session hasn't loaded yet.
      */
-    public void shutdown() {
-        if (checkTask != null) {
-            checkTask.cancel();
-            checkTask = null;
+    public BitSet getUnlockedAchievements(UUID playerId) {
+        Progress progress = playerProgress.get(playerId);
+        if (progress == null) return null;
+
+        synchronized (progress) {
+            progress.adopt(this.definitions);
+            return (BitSet) progress.unlocked.clone();
         }
     }
 
-    public Collection<Achievement> getAllAchievements() {
-        return achievements.values();
+    public void clearPlayerAchievements(UUID playerId) {
+        playerProgress.remove(playerId);
     }
 
     /**
-     * The core logic. Checks a player's stats against all achievements and awards them if necessary.
+     * Called whenever a stat of an online player changes. Only the next threshold of that stat the player hasn't
+     * unlocked is compared, so this is constant time unless achievements are actually awarded.
      */
-    private void checkAndAwardAchievements(Player player) {
-        PlayerStats stats = statsHandler.getStats(player);
-        if (stats == null) return;
+    public void onStatChanged(PlayerStats stats, StatType type, double value) {
+        // Players whose session hasn't loaded yet are caught up once it has.
+        Progress progress = playerProgress.get(stats.getUuid());
+        if (progress == null) return;
 
-        for (Achievement achievement : achievements.values()) {
-            try {
-                if (databaseHandler.hasAchievement(player.getUniqueId(), achievement.id())) {
-                    continue;
-                }
+        List<Achievement> awarded = null;
+        synchronized (progress) {
+            progress.adopt(this.definitions);
 
-                double playerValue = getStatValue(stats, achievement.type());
-                if (playerValue >= achievement.value()) {
-                    awardAchievement(player, achievement);
-                }
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Database error while checking achievements for " + player.getName(), e);
+            Achievement[] thresholds = progress.definitions.byStat()[type.ordinal()];
+            int index = progress.nextIndex[type.ordinal()];
+            while (index < thresholds.length && value >= thresholds[index].value()) {
+                progress.unlocked.set(thresholds[index].ordinal());
+                if (awarded == null) awarded = new ArrayList<>(1);
+                awarded.add(thresholds[index]);
+                index = progress.skipUnlocked(thresholds, index + 1);
             }
+            progress.nextIndex[type.ordinal()] = index;
         }
-    }
+        if (awarded == null) return;
 
-    private void awardAchievement(Player player, Achievement achievement) throws SQLException {
-        // Save the achievement to the database so they don't get it again.
-        databaseHandler.addAchievement(player.getUniqueId(), achievement.id());
+        Player player = Bukkit.getPlayer(stats.getUuid());
+        for (Achievement achievement : awarded) {
+            saveAchievement(stats.getUuid(), achievement.id());
+            if (player != null) grantRewards(player, achievement);
+        }
+    }
 
+    private void grantRewards(Player player, Achievement achievement) {
         // Schedule the rewards (fireworks, sounds, commands) to run on the main server thread.
         foliaHelper.runTask(player, () -> {
             // Execute reward commands from the console.
@@ -180,6 +291,46 @@ public class AchievementsHandler {
         });
     }
 
+    /**
+     * Saves an award in the background. It stays in the pending set until it is committed,
+     * so a session loaded in the meantime doesn't award it again. If the save fails, the award is taken back.
+     */
+    private void saveAchievement(UUID playerId, String achievementId) {
+        pendingAwards.compute(playerId, (k, pending) -> {
+            Set<String> awards = (pending != null) ? pending : ConcurrentHashMap.newKeySet();
+            awards.add(achievementId);
+            return awards;
+        });
+
+        foliaHelper.runAsyncTask(() -> {
+            boolean saved = false;
+            try {
+                databaseHandler.addAchievement(playerId, achievementId);
+                saved = true;
+            } catch (SQLException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to save achievement '" + achievementId + "' for " + playerId + ". It will be awarded again.", e);
+            } finally {
+                pendingAwards.computeIfPresent(playerId, (k, pending) -> {
+                    pending.remove(achievementId);
+                    return pending.isEmpty() ? null : pending;
+                });
+            }
+
+            // Only once it left the pending set, so a session loading meanwhile can't bring it back.
+            if (!saved) revokeAward(playerId, achievementId);
+        });
+    }
+
+    private void revokeAward(UUID playerId, String achievementId) {
+        Progress progress = playerProgress.get(playerId);
+        if (progress == null) return;
+
+        synchronized (progress) {
+            progress.adopt(this.definitions);
+            progress.revoke(achievementId);
+        }
+    }
+
     /**
      * Helper method to get the correct stat value from a PlayerStats object.
      */
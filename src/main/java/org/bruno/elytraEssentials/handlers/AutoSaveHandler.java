@@ -0,0 +1,73 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bruno.elytraEssentials.utils.CancellableTask;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Periodically saves the data of online players that changed since their last save.
+ * <p>
+ * Players are split into one slice per second of the interval, and each second only one slice is checked.
+ * Every player is saved at most once per interval and the writes are spread evenly instead of happening all at once.
+ */
+public class AutoSaveHandler {
+    private final StatsHandler statsHandler;
+    private final FlightHandler flightHandler;
+    private final ConfigHandler configHandler;
+    private final FoliaHelper foliaHelper;
+    private final MessagesHelper messagesHelper;
+
+    private CancellableTask task;
+    private int slices;
+    private int currentSlice = 0;
+
+    public AutoSaveHandler(StatsHandler statsHandler, FlightHandler flightHandler, ConfigHandler configHandler,
+                           FoliaHelper foliaHelper, MessagesHelper messagesHelper) {
+        this.statsHandler = statsHandler;
+        this.flightHandler = flightHandler;
+        this.configHandler = configHandler;
+        this.foliaHelper = foliaHelper;
+        this.messagesHelper = messagesHelper;
+    }
+
+    public void start() {
+        if (this.task != null) return;
+        if (!configHandler.getIsAutoSaveEnabled()) return;
+
+        this.slices = Math.max(1, configHandler.getAutoSaveInterval());
+        this.currentSlice = 0;
+
+        // Runs once per second, each run handles one slice of the players.
+        this.task = foliaHelper.runTaskTimerGlobal(this::saveNextSlice, 20L, 20L);
+    }
+
+    public void shutdown() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    private void saveNextSlice() {
+        int slice = currentSlice;
+        currentSlice = (currentSlice + 1) % slices;
+
+        int statsSaved = 0;
+        int flightTimesSaved = 0;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID uuid = player.getUniqueId();
+            if (Math.floorMod(uuid.hashCode(), slices) != slice) continue;
+
+            if (statsHandler.saveIfDirty(uuid)) statsSaved++;
+            if (flightHandler.saveFlightTimeIfDirty(uuid)) flightTimesSaved++;
+        }
+
+        if (statsSaved > 0 || flightTimesSaved > 0) {
+            messagesHelper.sendDebugMessage("Auto-save queued " + statsSaved + " stat record(s) and " + flightTimesSaved + " flight time(s).");
+        }
+    }
+}
@@ -1,24 +1,21 @@
 package org.bruno.elytraEssentials.handlers;
 
-import org.bruno.elytraEssentials.ElytraEssentials;
 import org.bruno.elytraEssentials.helpers.FoliaHelper;
 import org.bruno.elytraEssentials.helpers.MessagesHelper;
 import org.bruno.elytraEssentials.helpers.PermissionsHelper;
 import org.bruno.elytraEssentials.utils.CancellableTask;
+import org.bruno.elytraEssentials.utils.FlightSession;
 import org.bruno.elytraEssentials.utils.PlayerStats;
 import org.bruno.elytraEssentials.utils.ServerVersion;
+import org.bruno.elytraEssentials.utils.TrackedBossBar;
 import org.bukkit.*;
 import org.bukkit.boss.BarColor;
-import org.bukkit.boss.BarStyle;
-import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -28,7 +25,7 @@ public class BoostHandler {
     private static final double SUPER_BOOST_FORCE = 0.08;
     private static final int BOOST_DURATION_TICKS = 20;
 
-    private final ElytraEssentials plugin;
+    private final BossBarHandler bossBarHandler;
     private final FoliaHelper foliaHelper;
     private final MessagesHelper messagesHelper;
     private final ServerVersion serverVersion;
@@ -38,19 +35,12 @@ public class BoostHandler {
     private final UpgradeHandler upgradeHandler;
     private final JumpAnimationHandler jumpAnimationHandler;
 
+    // Also owns the per-player sessions the boost state lives in.
     private FlightHandler flightHandler;
 
-    private final Map<UUID, Long> cooldowns = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> cooldownMessageSent = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> superBoostMessageExpirations = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> boostMessageExpirations = new ConcurrentHashMap<>();
-    private final Map<UUID, CancellableTask> chargingTasks = new ConcurrentHashMap<>();
-    private final Map<UUID, BossBar> chargeBossBars = new ConcurrentHashMap<>();
-    private final Map<UUID, CancellableTask> activeBoostTasks = new ConcurrentHashMap<>();
-
-    public BoostHandler(ElytraEssentials plugin, FoliaHelper foliaHelper, MessagesHelper messagesHelper, ServerVersion serverVersion, StatsHandler statsHandler,
+    public BoostHandler(BossBarHandler bossBarHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, ServerVersion serverVersion, StatsHandler statsHandler,
                         ConfigHandler configHandler, MessagesHandler messagesHandler, UpgradeHandler upgradeHandler, JumpAnimationHandler jumpAnimationHandler) {
-        this.plugin = plugin;
+        this.bossBarHandler = bossBarHandler;
 
         this.foliaHelper = foliaHelper;
         this.messagesHelper = messagesHelper;
@@ -74,76 +64,49 @@ public class BoostHandler {
             return;
         }
 
+        FlightSession session = flightHandler.getSession(player.getUniqueId());
         if (isGliding) {
-            handleInAirBoost(player);
+            handleInAirBoost(player, session);
         } else if (isSneaking && isOnGround) {
-            handleChargedJump(player, boostMaterial);
-        }
-    }
-
-    public void handlePlayerQuit(PlayerQuitEvent event) {
-        // Clean up all maps when a player leaves
-        UUID playerId = event.getPlayer().getUniqueId();
-        cooldowns.remove(playerId);
-        cooldownMessageSent.remove(playerId);
-        boostMessageExpirations.remove(playerId);
-        superBoostMessageExpirations.remove(playerId);
-        cancelCharge(event.getPlayer()); // Cancel any active charge
-    }
-
-    public void handleToggleSneak(PlayerToggleSneakEvent event) {
-        Player player = event.getPlayer();
-
-        // Cancel the charge if a player stops sneaking
-        if (!event.isSneaking() && chargingTasks.containsKey(player.getUniqueId())) {
-            player.playSound(player.getLocation(), Sound.BLOCK_FIRE_EXTINGUISH, 0.7f, 1.2f);
-            cancelCharge(player);
+            handleChargedJump(player, session, boostMaterial);
         }
     }
 
     /**
-     * Checks if a player's normal boost message should be active.
-     * @param uuid The player's UUID.
-     * @return true if the boost is active, false otherwise.
+     * Stops every running boost and jump charge, e.g. before a reload removes the boss bars.
      */
-    public boolean isBoostActive(UUID uuid) {
-        Long expiryTime = boostMessageExpirations.get(uuid);
-        if (expiryTime == null) {
-            return false;
+    public void shutdown() {
+        for (FlightSession session : flightHandler.getSessions()) {
+            cancelBoost(session);
+            cancelCharge(session);
         }
+    }
 
-        // Check if the current time has passed the expiry time
-        if (System.currentTimeMillis() > expiryTime) {
-            boostMessageExpirations.remove(uuid); // Clean up expired entry
-            return false;
-        }
+    public void handlePlayerQuit(PlayerQuitEvent event) {
+        // The session itself is dropped by FlightHandler, which may already have happened
+        FlightSession session = flightHandler.getSessionIfPresent(event.getPlayer().getUniqueId());
+        if (session == null) return;
 
-        return true;
+        cancelBoost(session);
+        cancelCharge(session); // Cancel any active charge
     }
 
-    /**
-     * Checks if a player's super boost message should be active.
-     * @param uuid The player's UUID.
-     * @return true if the super boost is active, false otherwise.
-     */
-    public boolean isSuperBoostActive(UUID uuid) {
-        Long expiryTime = superBoostMessageExpirations.get(uuid);
-        if (expiryTime == null) {
-            return false;
-        }
+    public void handleToggleSneak(PlayerToggleSneakEvent event) {
+        if (event.isSneaking()) return;
 
-        if (System.currentTimeMillis() > expiryTime) {
-            superBoostMessageExpirations.remove(uuid); // Clean up expired entry
-            return false;
+        // Cancel the charge if a player stops sneaking
+        Player player = event.getPlayer();
+        FlightSession session = flightHandler.getSessionIfPresent(player.getUniqueId());
+        if (session != null && session.getChargingTask() != null) {
+            player.playSound(player.getLocation(), Sound.BLOCK_FIRE_EXTINGUISH, 0.7f, 1.2f);
+            cancelCharge(session);
         }
-
-        return true;
     }
 
-    private void handleInAirBoost(Player player) {
+    private void handleInAirBoost(Player player, FlightSession session) {
         if (!configHandler.getIsBoostEnabled()) return;
         if (!PermissionsHelper.hasElytraBoostPermission(player) && !PermissionsHelper.hasElytraSuperBoostPermission(player)) return;
-        if (isOnCooldown(player)) return;
+        if (isOnCooldown(player, session)) return;
 
         PlayerStats stats = statsHandler.getStats(player);
         double baseForce;
@@ -167,14 +130,14 @@ public class BoostHandler {
         double bonusPowerPercent = upgradeHandler.getBonusBoostPower(chestplate);
         double finalForce = baseForce * (1 + (bonusPowerPercent / 100.0));
 
-        cooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+        session.setLastBoostTime(System.currentTimeMillis());
 
-        cancelBoost(player.getUniqueId()); // Cancel any previous boost to allow chain-boosting
+        cancelBoost(session); // Cancel any previous boost to allow chain-boosting
 
         final AtomicInteger ticksRemaining = new AtomicInteger(BOOST_DURATION_TICKS);
         CancellableTask boostTask = foliaHelper.runTaskTimerForEntity(player, () -> {
             if (!player.isOnline() || !player.isGliding() || ticksRemaining.getAndDecrement() <= 0) {
-                cancelBoost(player.getUniqueId());
+                cancelBoost(session);
                 return;
             }
 
@@ -190,36 +153,36 @@ public class BoostHandler {
 
         }, 1L, 1L);
 
-        activeBoostTasks.put(player.getUniqueId(), boostTask);
+        session.setBoostTask(boostTask);
 
         player.getWorld().playSound(player.getLocation(), Sound.ENTITY_FIREWORK_ROCKET_LAUNCH, 1.0f, 1.0f);
 
         if (isSuperBoost) {
-            superBoostMessageExpirations.put(player.getUniqueId(), System.currentTimeMillis() + 1000);
+            session.setSuperBoostMessageEnd(System.currentTimeMillis() + 1000);
         } else {
-            boostMessageExpirations.put(player.getUniqueId(), System.currentTimeMillis() + 1000);
+            session.setBoostMessageEnd(System.currentTimeMillis() + 1000);
         }
     }
 
-    private void cancelBoost(UUID playerId) {
-        CancellableTask task = activeBoostTasks.remove(playerId);
+    private void cancelBoost(FlightSession session) {
+        CancellableTask task = session.getBoostTask();
+        session.setBoostTask(null);
         if (task != null) {
             task.cancel();
         }
     }
 
-    private void handleChargedJump(Player player, Material boostMaterial) {
+    private void handleChargedJump(Player player, FlightSession session, Material boostMaterial) {
         if (!configHandler.getIsBoostEnabled() || !configHandler.getIsChargedJumpEnabled()) return;
 
         if (configHandler.getIsTimeLimitEnabled() && !PermissionsHelper.playerBypassTimeLimit(player)) {
-            var currentTime = flightHandler.getCurrentFlightTime(player.getUniqueId());
-            if (currentTime == 0){
+            if (session.getFlightTime() == 0){
                 messagesHelper.sendActionBarMessage(player, messagesHandler.getElytraFlightTimeExpired());
                 return;
             }
         }
 
-        if (chargingTasks.containsKey(player.getUniqueId())) return; // Already charging
+        if (session.getChargingTask() != null) return; // Already charging
 
         ItemStack chestplate = player.getInventory().getChestplate();
         if (chestplate == null || chestplate.getType() != Material.ELYTRA) {
@@ -232,7 +195,7 @@ public class BoostHandler {
         }
 
         //  Cooldown Check
-        if (isOnCooldown(player)) {
+        if (isOnCooldown(player, session)) {
             return;
         }
 
@@ -243,17 +206,17 @@ public class BoostHandler {
 
         long totalTicksToCharge = (long) (chargeTimeSeconds * 20);
 
-        BossBar bossBar = plugin.getServer().createBossBar("§aCharging Jump... §20%", BarColor.GREEN, BarStyle.SOLID);
+        TrackedBossBar bossBar = bossBarHandler.show(player, BossBarHandler.BarType.JUMP_CHARGE, "§aCharging Jump... §20%", BarColor.GREEN);
+        if (bossBar == null) return;
         bossBar.setProgress(0.0);
-        bossBar.addPlayer(player);
-        chargeBossBars.put(player.getUniqueId(), bossBar);
+        session.setChargeBossBar(bossBar);
 
         var ticksElapsed = new AtomicLong(0); // Use AtomicLong for thread-safe incrementing
 
         CancellableTask task = foliaHelper.runTaskTimerForEntity(player, () -> {
             ItemStack currentItem = player.getInventory().getItemInMainHand();
             if (!player.isOnline() || !player.isSneaking() || !player.isOnGround() || currentItem.getType() != boostMaterial) {
-                cancelCharge(player);
+                cancelCharge(session);
                 return;
             }
 
@@ -262,15 +225,16 @@ public class BoostHandler {
             bossBar.setProgress(Math.min(1.0, progress));
 
             int percentage = (int) (progress * 100);
-            bossBar.setTitle("§aCharging Jump... §2" + percentage + "%");
+            String titlePrefix = "§aCharging Jump... §2";
 
             if (progress > 0.75) {
-                bossBar.setTitle("§cCharging Jump... §4" + percentage + "%");
+                titlePrefix = "§cCharging Jump... §4";
                 bossBar.setColor(BarColor.RED);
             } else if (progress > 0.4) {
-                bossBar.setTitle("§eCharging Jump... §6" + percentage + "%");
+                titlePrefix = "§eCharging Jump... §6";
                 bossBar.setColor(BarColor.YELLOW);
             }
+            bossBar.setTitle(titlePrefix + percentage + "%");
 
             // Play the charge-up effect if the player has an active effect
             playChargeUpEffect(player, currentTick , totalTicksToCharge);
@@ -316,30 +280,33 @@ public class BoostHandler {
                     player.getWorld().spawnParticle(particle2, player.getLocation(), 30, 0.5, 0.5, 0.5, 0.1);
                 }
 
-                cancelCharge(player);
+                cancelCharge(session);
             }
         }, 1L, 1L);
 
-        chargingTasks.put(player.getUniqueId(), task);
+        session.setChargingTask(task);
     }
 
-    private void cancelCharge(Player player) {
-        CancellableTask task = chargingTasks.remove(player.getUniqueId());
+    private void cancelCharge(FlightSession session) {
+        CancellableTask task = session.getChargingTask();
+        session.setChargingTask(null);
         if (task != null) {
             task.cancel();
         }
-        BossBar bossBar = chargeBossBars.remove(player.getUniqueId());
+        TrackedBossBar bossBar = session.getChargeBossBar();
+        session.setChargeBossBar(null);
         if (bossBar != null) {
-            bossBar.removeAll();
+            bossBar.hide();
         }
     }
 
     /**
      * Checks if a player is on cooldown. Sends them a message if they are.
      * @param player The player to check.
+     * @param session The player's session.
      * @return True if the player is on cooldown, false otherwise.
      */
-    private boolean isOnCooldown(Player player) {
+    private boolean isOnCooldown(Player player, FlightSession session) {
         long effectiveCooldownMs;
         int configuredCooldownMs = configHandler.getBoostCooldown();
 
@@ -351,12 +318,12 @@ public class BoostHandler {
             effectiveCooldownMs = Math.max(configuredCooldownMs, MINIMUM_SPAM_DELAY_MS);
         }
 
-        long lastBoostTime = cooldowns.getOrDefault(player.getUniqueId(), 0L);
+        long lastBoostTime = session.getLastBoostTime();
         long timeSinceLastBoost = System.currentTimeMillis() - lastBoostTime;
 
         if (timeSinceLastBoost < effectiveCooldownMs) {
             // Player is on cooldown. Check if we should send a message.
-            long lastMessageCooldownTime = cooldownMessageSent.getOrDefault(player.getUniqueId(), 0L);
+            long lastMessageCooldownTime = session.getCooldownMessageSentFor();
 
             // We only send a message if it's for a new cooldown instance.
             // If the current cooldown start time is different from the last one we sent a message for,
@@ -373,7 +340,7 @@ public class BoostHandler {
                     messagesHelper.sendPlayerMessage(player, message);
 
                     // Record that we've sent a message for this specific cooldown instance.
-                    cooldownMessageSent.put(player.getUniqueId(), lastBoostTime);
+                    session.setCooldownMessageSentFor(lastBoostTime);
                 }
             }
             return true; // Player is on cooldown (message may or may not have been sent).
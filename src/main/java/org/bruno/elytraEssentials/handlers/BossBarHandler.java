@@ -0,0 +1,79 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.utils.TrackedBossBar;
+import org.bukkit.Bukkit;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns the boss bars shown to players.
+ * <p>
+ * Each player gets at most one bar per {@link BarType}, created the first time it is needed and then only hidden and
+ * shown again, e.g. for every new glide. The bars only send title, color and progress updates that actually change
+ * something.
+ */
+public class BossBarHandler {
+    public enum BarType {
+        FLIGHT_TIME,
+        JUMP_CHARGE,
+        COMBAT_TAG
+    }
+
+    private final Map<UUID, TrackedBossBar[]> playerBars = new ConcurrentHashMap<>();
+    // Players whose bars were removed, until their Player object is gone. A rejoin gets a new one.
+    private final Set<Player> removedPlayers = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /**
+     * Shows one of the player's bars with the given title and color, creating it the first time.
+     *
+     * @return the bar, to update it while it is shown, or null if the player is offline or was already removed.
+     */
+    public TrackedBossBar show(Player player, BarType type, String title, BarColor color) {
+        // A late task would otherwise create a bar after removePlayer that nobody removes again.
+        if (!player.isOnline() || removedPlayers.contains(player)) return null;
+
+        TrackedBossBar[] bars = playerBars.computeIfAbsent(player.getUniqueId(), uuid -> new TrackedBossBar[BarType.values().length]);
+
+        TrackedBossBar bar = bars[type.ordinal()];
+        if (bar == null) {
+            BossBar bossBar = Bukkit.createBossBar(title, color, BarStyle.SOLID);
+            bossBar.addPlayer(player);
+            bar = new TrackedBossBar(bossBar);
+            bars[type.ordinal()] = bar;
+        } else {
+            bar.setTitle(title);
+            bar.setColor(color);
+        }
+
+        bar.show();
+        return bar;
+    }
+
+    /**
+     * Removes all of a player's bars, e.g. when they leave. Later calls to {@link #show} for them are ignored.
+     */
+    public void removePlayer(Player player) {
+        removedPlayers.add(player);
+        TrackedBossBar[] bars = playerBars.remove(player.getUniqueId());
+        if (bars != null) {
+            removeAll(bars);
+        }
+    }
+
+    public void shutdown() {
+        playerBars.values().forEach(this::removeAll);
+        playerBars.clear();
+        removedPlayers.clear();
+    }
+
+    private void removeAll(TrackedBossBar[] bars) {
+        for (TrackedBossBar bar : bars) {
+            if (bar != null) bar.remove();
+        }
+    }
+}
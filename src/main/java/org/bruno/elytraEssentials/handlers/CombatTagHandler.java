@@ -3,10 +3,9 @@ package org.bruno.elytraEssentials.handlers;
 import org.bruno.elytraEssentials.ElytraEssentials;
 import org.bruno.elytraEssentials.helpers.*;
 import org.bruno.elytraEssentials.utils.CancellableTask;
+import org.bruno.elytraEssentials.utils.TrackedBossBar;
 import org.bukkit.Bukkit;
 import org.bukkit.boss.BarColor;
-import org.bukkit.boss.BarStyle;
-import org.bukkit.boss.BossBar;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Projectile;
@@ -26,17 +25,20 @@ public class CombatTagHandler {
     private final MessagesHelper messagesHelper;
     private final FoliaHelper foliaHelper;
     private final MessagesHandler messagesHandler;
+    private final BossBarHandler bossBarHandler;
 
     private final Map<UUID, Long> combatTaggedPlayers = new ConcurrentHashMap<>();
     private final Set<UUID> fallDamageProtection = ConcurrentHashMap.newKeySet();
-    private final Map<UUID, BossBar> combatTagBossBars = new ConcurrentHashMap<>();
+    private final Map<UUID, TrackedBossBar> combatTagBossBars = new ConcurrentHashMap<>();
     private CancellableTask countdownTask;
 
-    public CombatTagHandler(ConfigHandler configHandler, MessagesHelper messagesHelper, FoliaHelper foliaHelper, MessagesHandler messagesHandler) {
+    public CombatTagHandler(ConfigHandler configHandler, MessagesHelper messagesHelper, FoliaHelper foliaHelper, MessagesHandler messagesHandler,
+                            BossBarHandler bossBarHandler) {
         this.configHandler = configHandler;
         this.messagesHelper = messagesHelper;
         this.foliaHelper = foliaHelper;
         this.messagesHandler = messagesHandler;
+        this.bossBarHandler = bossBarHandler;
     }
 
     public void start() {
@@ -51,11 +53,11 @@ public class CombatTagHandler {
                 UUID playerId = entry.getKey();
                 long expiryTime = entry.getValue();
                 Player player = Bukkit.getPlayer(playerId);
-                BossBar bossBar = combatTagBossBars.get(playerId);
+                TrackedBossBar bossBar = combatTagBossBars.get(playerId);
 
                 if (player == null || !player.isOnline() || bossBar == null) {
                     // Clean up if player is offline or boss bar is missing
-                    if (bossBar != null) bossBar.removeAll();
+                    if (bossBar != null) bossBar.hide();
                     combatTagBossBars.remove(playerId);
                     iterator.remove();
                     continue;
@@ -68,10 +70,10 @@ public class CombatTagHandler {
                     int remainingSeconds = (int) Math.ceil(remainingMs / 1000.0);
 
                     bossBar.setProgress(Math.max(0, Math.min(1, progress)));
-                    bossBar.setTitle(ColorHelper.parse(messagesHandler.getCombatTagged().replace("{0}", TimeHelper.formatFlightTime(remainingSeconds))));
+                    bossBar.setTitle(messagesHandler.getCombatTagged().render((out, slot) -> TimeHelper.appendFlightTime(out, remainingSeconds)));
                 } else {
                     // Tag has expired, clean everything up
-                    bossBar.removeAll();
+                    bossBar.hide();
                     combatTagBossBars.remove(playerId);
                     iterator.remove();
 
@@ -88,7 +90,7 @@ public class CombatTagHandler {
         }
 
         // Clean up any remaining boss bars
-        combatTagBossBars.values().forEach(BossBar::removeAll);
+        combatTagBossBars.values().forEach(TrackedBossBar::hide);
         combatTagBossBars.clear();
     }
 
@@ -145,9 +147,9 @@ public class CombatTagHandler {
         combatTaggedPlayers.remove(playerId);
         fallDamageProtection.remove(playerId);
 
-        BossBar bossBar = combatTagBossBars.remove(playerId);
+        TrackedBossBar bossBar = combatTagBossBars.remove(playerId);
         if (bossBar != null) {
-            bossBar.removeAll();
+            bossBar.hide();
         }
     }
 
@@ -165,9 +167,9 @@ public class CombatTagHandler {
             fallDamageProtection.add(player.getUniqueId());
         }
 
-        BossBar bossBar = combatTagBossBars.computeIfAbsent(player.getUniqueId(), uuid -> {
-            BossBar newBar = Bukkit.createBossBar("Combat Tagged.", BarColor.RED, BarStyle.SOLID);
-            newBar.addPlayer(player);
+        combatTagBossBars.computeIfAbsent(player.getUniqueId(), uuid -> {
+            TrackedBossBar newBar = bossBarHandler.show(player, BossBarHandler.BarType.COMBAT_TAG, "Combat Tagged.", BarColor.RED);
+            if (newBar != null) newBar.setProgress(1.0);
             return newBar;
         });
 
@@ -28,6 +28,8 @@ public class ConfigHandler {
     // Flight section
     private boolean isGlobalFlightDisabled;
     private List<String> disabledWorlds;
+    private int flightSampleInterval;
+    private int speedometerInterval;
     private boolean isSpeedLimitEnabled;
     private double defaultSpeedLimit;
     private HashMap<String, Double> perWorldSpeedLimits;
@@ -42,9 +44,20 @@ public class ConfigHandler {
     // Database section
     private String storageType;
     private String prefix;
+    private boolean isBinaryUuidsEnabled;
     private boolean isAutoBackupEnabled;
     private int autoBackupInterval;
     private int autoBackupMaxBackups;
+    private String autoBackupMode;
+    private int autoBackupSnapshotEvery;
+    private int writeBehindFlushInterval;
+    private int writeBehindQueueCapacity;
+    private boolean isAutoSaveEnabled;
+    private int autoSaveInterval;
+    private boolean isSqliteWalEnabled;
+    private int sqliteReaderPoolSize;
+    private int sqliteCacheSize;
+    private int sqliteMmapSize;
     private String host;
     private int port;
     private String database;
@@ -101,6 +114,8 @@ public class ConfigHandler {
 
         this.isGlobalFlightDisabled = this.fileConfiguration.getBoolean("flight.disable-global", false);
         this.disabledWorlds = this.fileConfiguration.getStringList("flight.disabled-worlds");
+        this.flightSampleInterval = this.fileConfiguration.getInt("flight.sample-interval", 1);
+        this.speedometerInterval = this.fileConfiguration.getInt("flight.speedometer-interval", 2);
         this.isSpeedLimitEnabled = this.fileConfiguration.getBoolean("flight.speed-limit.enabled", true);
         this.defaultSpeedLimit = this.fileConfiguration.getDouble("flight.speed-limit.default", 75);
 
@@ -131,9 +146,20 @@ public class ConfigHandler {
 
         this.storageType = this.fileConfiguration.getString("storage.type", "SQLITE");
         this.prefix = this.fileConfiguration.getString("storage.prefix", "ee_");
+        this.isBinaryUuidsEnabled = this.fileConfiguration.getBoolean("storage.binary-uuids", false);
         this.isAutoBackupEnabled = this.fileConfiguration.getBoolean("storage.auto-backup.enabled", true);
         this.autoBackupInterval = this.fileConfiguration.getInt("storage.auto-backup.interval", 60);
         this.autoBackupMaxBackups = this.fileConfiguration.getInt("storage.auto-backup.max-backups", 24);
+        this.autoBackupMode = this.fileConfiguration.getString("storage.auto-backup.mode", "FULL");
+        this.autoBackupSnapshotEvery = this.fileConfiguration.getInt("storage.auto-backup.snapshot-every", 12);
+        this.writeBehindFlushInterval = this.fileConfiguration.getInt("storage.write-behind.flush-interval", 5);
+        this.writeBehindQueueCapacity = this.fileConfiguration.getInt("storage.write-behind.queue-capacity", 5000);
+        this.isAutoSaveEnabled = this.fileConfiguration.getBoolean("storage.auto-save.enabled", true);
+        this.autoSaveInterval = this.fileConfiguration.getInt("storage.auto-save.interval", 60);
+        this.isSqliteWalEnabled = this.fileConfiguration.getBoolean("storage.sqlite.wal-mode", true);
+        this.sqliteReaderPoolSize = this.fileConfiguration.getInt("storage.sqlite.reader-pool-size", 4);
+        this.sqliteCacheSize = this.fileConfiguration.getInt("storage.sqlite.cache-size", 8192);
+        this.sqliteMmapSize = this.fileConfiguration.getInt("storage.sqlite.mmap-size", 64);
 
         this.host = this.fileConfiguration.getString("storage.mysql.host", "localhost");
         this.port = this.fileConfiguration.getInt("storage.mysql.port", 3306);
@@ -210,6 +236,8 @@ public class ConfigHandler {
     public final List<String> getDisabledWorlds() {
         return this.disabledWorlds;
     }
+    public final int getFlightSampleInterval() { return this.flightSampleInterval; }
+    public final int getSpeedometerInterval() { return this.speedometerInterval; }
     public final boolean getIsSpeedLimitEnabled() { return this.isSpeedLimitEnabled; }
     public final double getDefaultSpeedLimit() {
         return this.defaultSpeedLimit;
@@ -227,12 +255,23 @@ public class ConfigHandler {
     public final boolean getIsAutoBackupEnabled() { return this.isAutoBackupEnabled; }
     public final int getAutoBackupInterval() { return this.autoBackupInterval; }
     public final int getAutoBackupMaxBackups() { return this.autoBackupMaxBackups; }
+    public final String getAutoBackupMode() { return this.autoBackupMode; }
+    public final int getAutoBackupSnapshotEvery() { return this.autoBackupSnapshotEvery; }
+    public final int getWriteBehindFlushInterval() { return this.writeBehindFlushInterval; }
+    public final int getWriteBehindQueueCapacity() { return this.writeBehindQueueCapacity; }
+    public final boolean getIsAutoSaveEnabled() { return this.isAutoSaveEnabled; }
+    public final int getAutoSaveInterval() { return this.autoSaveInterval; }
+    public final boolean getIsSqliteWalEnabled() { return this.isSqliteWalEnabled; }
+    public final int getSqliteReaderPoolSize() { return this.sqliteReaderPoolSize; }
+    public final int getSqliteCacheSize() { return this.sqliteCacheSize; }
+    public final int getSqliteMmapSize() { return this.sqliteMmapSize; }
     public final String getHost() { return this.host; }
     public final int getPort() { return this.port; }
     public final String getDatabase() { return this.database; }
     public final String getUsername() { return this.username; }
     public final String getPassword() { return this.password; }
     public final String getPrefix() { return this.prefix; }
+    public final boolean getIsBinaryUuidsEnabled() { return this.isBinaryUuidsEnabled; }
     public final DatabaseOptions getDataBaseOptions() { return this.databaseOptions; }
 
     public final boolean getIsBoostEnabled() { return this.isBoostEnabled; }
@@ -10,24 +10,55 @@ import org.bruno.elytraEssentials.helpers.TimeHelper;
 import org.bruno.elytraEssentials.utils.CancellableTask;
 import org.bruno.elytraEssentials.utils.Constants;
 import org.bruno.elytraEssentials.utils.PlayerStats;
-import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 import java.sql.*;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+import java.util.function.UnaryOperator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class DatabaseHandler {
+    private static final int UPSERT_BATCH_SIZE = 500;
+    private static final int FLIGHT_TIME_COLUMNS = 2;
+    private static final int PLAYER_STATS_COLUMNS = 7;
+    private static final int MIGRATION_CHUNK_SIZE = 1000;
+    private static final long UUID_CONVERSION_LOG_INTERVAL_MS = 5000;
+    private static final int SQLITE_OPEN_READONLY = 0x1;
+    private static final int SQLITE_BUSY_TIMEOUT_MS = 5000; // How long a connection waits for another one's lock
+
+    private static final String BACKUP_PREFIX = "backup_";
+    private static final String BACKUP_EXTENSION = ".db";
+    private static final String SNAPSHOT_EXTENSION = ".db.gz";
+    private static final String DELTA_EXTENSION = ".delta.gz";
+    private static final String DELTA_PLAYERS_TABLE = "changed_players";
+    private static final String STAGING_SUFFIX = "_import";
+    private static final String IMPORT_SOURCE = "import_source";
+    // The format SQLite uses for CURRENT_TIMESTAMP.
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Year first, so backup names sort in creation order.
+    private static final DateTimeFormatter BACKUP_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+    private static final DateTimeFormatter LEGACY_BACKUP_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy_HH-mm-ss");
+
     private final ElytraEssentials plugin;
     private final ConfigHandler configHandler;
     private final FoliaHelper foliaHelper;
@@ -35,10 +66,15 @@ public class DatabaseHandler {
     private final Logger logger;
 
     private HikariDataSource dataSource;
+    // Read-only SQLite connections, only used in WAL mode. Null means reads share the main pool.
+    private HikariDataSource readDataSource;
 
     private enum StorageType { SQLITE, MYSQL }
     private StorageType storageType;
     private String prefix;
+    private boolean useBinaryUuids;
+    // Whether the tables currently store UUIDs as 16 bytes. Only differs from the config until the conversion ran.
+    private boolean binaryUuids = false;
 
     private String host;
     private int port;
@@ -47,7 +83,64 @@ public class DatabaseHandler {
     private String password;
     private ConfigHandler.DatabaseOptions databaseOptions;
 
+    // Whether the SQLite database was opened in WAL mode, which online backups need.
+    private boolean sqliteWalMode = false;
     private CancellableTask backupTask = null;
+    // Players whose rows changed since the last incremental backup. Only tracked in incremental mode.
+    private final Set<UUID> changedSinceBackup = ConcurrentHashMap.newKeySet();
+    private boolean trackChanges = false;
+    // Deltas written since the last snapshot, -1 until the first snapshot of this run exists.
+    private int deltasSinceSnapshot = -1;
+    // Players whose rows changed while a storage migration is running. Null when none is.
+    private volatile Set<UUID> migrationChanges = null;
+
+    /**
+     * A versioned schema change. Applied migrations are recorded in the schema version table and never run twice.
+     * <p>
+     * A migration either runs SQL statements, which are applied in one transaction together with its version row,
+     * or a data action, which commits its own work in chunks and must be safe to resume after an interruption.
+     */
+    private record Migration(int version, String description, List<String> statements, @Nullable MigrationAction action) {
+        Migration(int version, String description, List<String> statements) {
+            this(version, description, statements, null);
+        }
+
+        Migration(int version, String description, MigrationAction action) {
+            this(version, description, List.of(), action);
+        }
+
+        /** Detects changes to a migration after it was applied. Covers the description and statements, not action code. */
+        long checksum() {
+            CRC32 crc = new CRC32();
+            crc.update(description.getBytes(StandardCharsets.UTF_8));
+            for (String statement : statements) {
+                crc.update(statement.getBytes(StandardCharsets.UTF_8));
+            }
+            return crc.getValue();
+        }
+    }
+
+    @FunctionalInterface
+    private interface MigrationAction {
+        void run(Connection connection) throws SQLException;
+    }
+
+    /** A table whose rows can be copied in key order, see {@link #copyTableInChunks}. */
+    private record TableLayout(String table, String uuidColumn, List<String> keyColumns, List<String> columns) {}
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(List<Object[]> rows) throws SQLException;
+    }
+
+    /** The number of rows of a table and the sum of their row checksums, which does not depend on row order. */
+    public record TableChecksum(long rows, long checksum) {}
+
+    /**
+     * Everything the plugin keeps in memory for an online player, as read from storage.
+     */
+    public record PlayerSessionData(int flightTime, PlayerStats stats, @Nullable String activeEffect,
+                                    List<String> ownedEffects, Set<String> unlockedAchievements) {}
 
     public DatabaseHandler(ElytraEssentials plugin, ConfigHandler configHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, Logger logger) {
         this.plugin = plugin;
@@ -61,7 +154,27 @@ public class DatabaseHandler {
 
     public void initialize() throws SQLException {
         logger.info("Using " + storageType.name() + " for data storage.");
+        openPools();
+        logger.info("Database connection established.");
+        // Changes from before this point are unknown, so the next incremental backup must be a snapshot.
+        changedSinceBackup.clear();
+        deltasSinceSnapshot = -1;
+        runMigrations();
+        convertUuidStorage();
+    }
+
+    /**
+     * Connects a database from {@link #createCounterpart()} and brings its schema up to date, without the startup
+     * logs that would suggest the plugin switched storage.
+     */
+    public void initializeCounterpart() throws SQLException {
+        openPools();
+        messagesHelper.sendDebugMessage("Connected to the " + storageType.name() + " database.");
+        runMigrations();
+        convertUuidStorage();
+    }
 
+    private void openPools() throws SQLException {
         if (storageType == StorageType.MYSQL) {
             HikariConfig config = new HikariConfig();
             config.setJdbcUrl("jdbc:mysql://" + this.host + ":" + this.port + "/" + this.database);
@@ -86,18 +199,40 @@ public class DatabaseHandler {
                 throw new SQLException("FATAL: Failed to create database folder...");
             }
             File dbFile = new File(databaseFolder, Constants.Files.SQLITE_DB_NAME);
+            String jdbcUrl = "jdbc:sqlite:" + dbFile.getAbsolutePath();
+            boolean walMode = configHandler.getIsSqliteWalEnabled();
+            this.sqliteWalMode = walMode;
+
             HikariConfig config = new HikariConfig();
-            config.setJdbcUrl("jdbc:sqlite:" + dbFile.getAbsolutePath());
-            config.setMaximumPoolSize(1); // SQLite supports only a single connection
+            config.setJdbcUrl(jdbcUrl);
+            config.setMaximumPoolSize(1); // SQLite supports only a single writer
             config.setPoolName("ElytraEssentials-SQLite");
+            config.addDataSourceProperty("journal_mode", walMode ? "WAL" : "DELETE");
+            // In WAL mode, NORMAL can only lose the last commits on a power loss, it never corrupts the database.
+            config.addDataSourceProperty("synchronous", walMode ? "NORMAL" : "FULL");
+            addSqliteTuning(config);
 
             dataSource = new HikariDataSource(config);
+
+            // WAL lets readers run while the writer commits, so reads get their own pool.
+            int readerPoolSize = configHandler.getSqliteReaderPoolSize();
+            if (walMode && readerPoolSize > 0) {
+                HikariConfig readerConfig = new HikariConfig();
+                readerConfig.setJdbcUrl(jdbcUrl);
+                readerConfig.setMaximumPoolSize(readerPoolSize);
+                readerConfig.setPoolName("ElytraEssentials-SQLite-Reader");
+                readerConfig.addDataSourceProperty("open_mode", String.valueOf(SQLITE_OPEN_READONLY));
+                addSqliteTuning(readerConfig);
+
+                readDataSource = new HikariDataSource(readerConfig);
+            }
         }
-        logger.info("Database connection established.");
-        initializeTables();
+    }
 
-        // Run migration if old tables exist
-        migrateOldTables();
+    private void addSqliteTuning(HikariConfig config) {
+        config.addDataSourceProperty("busy_timeout", String.valueOf(SQLITE_BUSY_TIMEOUT_MS));
+        config.addDataSourceProperty("cache_size", String.valueOf(-configHandler.getSqliteCacheSize())); // Negative is KiB
+        config.addDataSourceProperty("mmap_size", String.valueOf(configHandler.getSqliteMmapSize() * 1024L * 1024L));
     }
 
     private @NotNull HikariConfig getHikariConfig() {
@@ -118,10 +253,14 @@ public class DatabaseHandler {
     }
 
     public boolean isConnected() {
-        return this.dataSource.isRunning();
+        return this.dataSource != null && this.dataSource.isRunning();
     }
 
     public void disconnect() {
+        if (this.readDataSource != null) {
+            this.readDataSource.close();
+            this.readDataSource = null;
+        }
         if (isConnected()) {
             this.dataSource.close();
             messagesHelper.sendDebugMessage(storageType.name() + " database connection closed successfully!");
@@ -138,15 +277,17 @@ public class DatabaseHandler {
         }
 
         this.prefix = configHandler.getPrefix();
-
-        if (this.storageType == StorageType.MYSQL) {
-            this.host = configHandler.getHost();
-            this.port = configHandler.getPort();
-            this.database = configHandler.getDatabase();
-            this.username = configHandler.getUsername();
-            this.password = configHandler.getPassword();
-            this.databaseOptions = configHandler.getDataBaseOptions();
-        }
+        this.useBinaryUuids = configHandler.getIsBinaryUuidsEnabled();
+        this.trackChanges = this.storageType == StorageType.SQLITE && configHandler.getIsAutoBackupEnabled()
+                && configHandler.getAutoBackupMode().equalsIgnoreCase("INCREMENTAL");
+
+        // Also needed with SQLite, as the target of a storage migration.
+        this.host = configHandler.getHost();
+        this.port = configHandler.getPort();
+        this.database = configHandler.getDatabase();
+        this.username = configHandler.getUsername();
+        this.password = configHandler.getPassword();
+        this.databaseOptions = configHandler.getDataBaseOptions();
     }
 
     public String getStorageType() {
@@ -161,6 +302,12 @@ public class DatabaseHandler {
 
         if (this.backupTask != null) return;
 
+        // Without WAL, copying the database holds a lock that makes every save fail until the copy is done.
+        if (!sqliteWalMode) {
+            logger.warning("Automatic backups are disabled because storage.sqlite.wal-mode is false. Enable WAL mode to take backups while the server runs.");
+            return;
+        }
+
         long interval = TimeHelper.minutesToTicks(configHandler.getAutoBackupInterval());
 
         logger.info("Starting automatic database backup task...");
@@ -179,75 +326,115 @@ public class DatabaseHandler {
     }
 
     /**
-     * Imports a database backup file into the live database.
-     * This method will kick all players, copy the backup to a temporary file,
-     * verify its integrity, and then swap it with the live database.
+     * Restores a backup into a temporary file, validates it and copies its tables into staging tables next to the
+     * live ones. Rows are copied in chunks with a separate connection, so normal reads and writes continue meanwhile.
+     * Blocks, so it must only be called off the main thread. Follow up with {@link #swapStagedTables()}.
      *
-     * @param backupFileName The name of the backup file to import.
-     * @param sender         The CommandSender who initiated the import.
-     * @param backupFile     The actual File object representing the backup.
+     * @param backupFile The backup to import, either a full backup, a snapshot or an incremental backup.
      */
-    public void importFromBackup(String backupFileName, CommandSender sender, File backupFile) {
-        logger.warning("Starting database import from backup: " + backupFileName);
-        messagesHelper.sendCommandSenderMessage(sender, "&eStarting import process... Kicking all players.");
+    public void stageBackup(File backupFile) throws IOException, SQLException {
+        if (storageType != StorageType.SQLITE) throw new SQLException("Backups can only be imported with SQLite storage.");
+
+        File databaseFolder = new File(plugin.getDataFolder(), Constants.Files.DB_FOLDER);
+        File liveDbFile = new File(databaseFolder, Constants.Files.SQLITE_DB_NAME);
+        File tempDbFile = new File(databaseFolder, "import_temp.db");
 
-        // This all happens synchronously on the main thread to avoid data corruption.
         try {
-            // 1. Kick players & shutdown services
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                player.kickPlayer("Server is restoring a data backup. Please reconnect in a moment.");
+            restoreBackupFile(backupFile, tempDbFile);
+
+            String integrityResult = checkIntegrity(tempDbFile);
+            if (!"ok".equalsIgnoreCase(integrityResult)) {
+                throw new SQLException("The backup failed its integrity check: " + integrityResult);
             }
 
-            logger.info("All players kicked. Shutting down plugin services...");
-            plugin.shutdownAllPluginTasks();
-            this.disconnect();
+            // Not from the pool, which would block all writes until the copy is done. Waits for the pool's locks the same way instead.
+            Properties properties = new Properties();
+            properties.setProperty("busy_timeout", String.valueOf(SQLITE_BUSY_TIMEOUT_MS));
+            try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + liveDbFile.getAbsolutePath(), properties)) {
+                try (PreparedStatement stmt = connection.prepareStatement("ATTACH DATABASE ? AS " + IMPORT_SOURCE)) {
+                    stmt.setString(1, tempDbFile.getAbsolutePath());
+                    stmt.execute();
+                }
 
-            // 2. Perform file operations
-            File databaseFolder = new File(plugin.getDataFolder(), Constants.Files.DB_FOLDER);
-            File liveDbFile = new File(databaseFolder, Constants.Files.SQLITE_DB_NAME);
-            File tempDbFile = new File(databaseFolder, "import_temp.db");
+                // Fail before touching anything if a table or column is missing.
+                try (Statement stmt = connection.createStatement()) {
+                    for (TableLayout layout : getTableLayouts()) {
+                        String table = IMPORT_SOURCE + "." + applyPrefix(layout.table());
+                        stmt.executeQuery("SELECT " + String.join(", ", layout.columns()) + " FROM " + table + " LIMIT 0").close();
+                    }
+                }
 
-            Files.copy(backupFile.toPath(), tempDbFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                // Backups taken before a UUID storage change hold the other layout, convert while copying.
+                UnaryOperator<Object> converter = binaryUuids ? DatabaseHandler::toBinaryUuid : DatabaseHandler::toTextUuid;
+                for (TableLayout layout : getTableLayouts()) {
+                    String table = applyPrefix(layout.table());
+                    String stagingTable = table + STAGING_SUFFIX;
+                    try (Statement stmt = connection.createStatement()) {
+                        stmt.executeUpdate("DROP TABLE IF EXISTS " + stagingTable);
+                        stmt.executeUpdate(getCreateTableQuery(stagingTable, binaryUuids));
+                    }
+                    copyTableInChunks(connection, layout, IMPORT_SOURCE + "." + table, stagingTable, Map.of(layout.uuidColumn(), converter));
+                }
 
-            // 3. Verify the backup
-            try (Connection testConnection = DriverManager.getConnection("jdbc:sqlite:" + tempDbFile.getAbsolutePath())) {
-                if (!testConnection.isValid(2)) {
-                    throw new SQLException("Import verification failed: Backup file is corrupted.");
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("DETACH DATABASE " + IMPORT_SOURCE);
                 }
-                logger.info("Backup file verified successfully.");
-            } catch (SQLException e) {
-                // If verification fails, clean up and restart services with the OLD database.
-                messagesHelper.sendCommandSenderMessage(sender, "&cImport failed! The backup file appears corrupted. No changes were made.");
-                logger.log(Level.SEVERE, "Could not verify backup file '" + backupFileName + "'. Aborting.", e);
-                if (!tempDbFile.delete()) logger.warning("Could not delete temporary DB file.");
-                this.initialize();
-                plugin.startAllPluginTasks();
-                return;
             }
+        } finally {
+            Files.deleteIfExists(tempDbFile.toPath());
+        }
+    }
 
-            // 4. Commit the change
-            if (liveDbFile.exists() && !liveDbFile.delete())
-                throw new IOException("Could not delete old live DB file.");
-            if (!tempDbFile.renameTo(liveDbFile)) throw new IOException("Could not rename temp DB file.");
-
-            logger.info("Successfully restored backup. Re-initializing services...");
-            this.initialize();
-            plugin.startAllPluginTasks();
+    /**
+     * Replaces the live tables with the ones prepared by {@link #stageBackup(File)} in a single transaction.
+     * Queued writes and cached player data still hold the old data, so they must be discarded first.
+     */
+    public void swapStagedTables() throws SQLException {
+        this.withConnection((connection) -> {
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (Statement stmt = connection.createStatement()) {
+                    for (TableLayout layout : getTableLayouts()) {
+                        String table = applyPrefix(layout.table());
+                        stmt.executeUpdate("DROP TABLE " + table);
+                        stmt.executeUpdate("ALTER TABLE " + table + STAGING_SUFFIX + " RENAME TO " + table);
+                        for (String indexQuery : getIndexQueries(layout.table())) {
+                            stmt.executeUpdate(indexQuery);
+                        }
+                    }
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
 
-            messagesHelper.sendCommandSenderMessage(sender, "&aDatabase import successful! Players can now reconnect.");
-            logger.info("Database import complete.");
+        // Every row may have changed, the next incremental backup has to start a new chain.
+        changedSinceBackup.clear();
+        deltasSinceSnapshot = -1;
+    }
 
-        } catch (Exception e) {
-            messagesHelper.sendCommandSenderMessage(sender, "&cA critical error occurred during import. Check console. The server may need a restart.");
-            logger.log(Level.SEVERE, "Failed to perform database import.", e);
-            // Attempt to restart services in a failed state
-            try {
-                this.initialize();
-                plugin.startAllPluginTasks();
-            } catch (SQLException ex) {
-                logger.log(Level.SEVERE, "Failed to re-initialize services after a failed import.", ex);
+    /**
+     * Removes staging tables left behind by an import that failed or was interrupted.
+     */
+    public void dropStagedTables() throws SQLException {
+        this.withConnection((connection) -> {
+            try (Statement stmt = connection.createStatement()) {
+                for (TableLayout layout : getTableLayouts()) {
+                    stmt.executeUpdate("DROP TABLE IF EXISTS " + applyPrefix(layout.table()) + STAGING_SUFFIX);
+                }
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
             }
-        }
+        });
     }
 
     public List<String> getBackupFileNames() {
@@ -257,7 +444,7 @@ public class DatabaseHandler {
         List<String> fileNames = new ArrayList<>();
         File backupFolder = new File(plugin.getDataFolder(), Constants.Files.DB_FOLDER + "/" + Constants.Files.DB_BACKUP_FOLDER);
         if (backupFolder.exists() && backupFolder.isDirectory()) {
-            File[] files = backupFolder.listFiles((dir, name) -> name.toLowerCase().endsWith(".db"));
+            File[] files = backupFolder.listFiles((dir, name) -> getBackupTime(name) != null);
             if (files != null) {
                 for (File file : files) {
                     fileNames.add(file.getName());
@@ -284,76 +471,391 @@ public class DatabaseHandler {
             }
         }
 
-        File[] backupFiles = backupFolder.listFiles((dir, name) -> name.endsWith(".db"));
-        if (backupFiles != null && backupFiles.length >= configHandler.getAutoBackupMaxBackups()) {
-            Arrays.sort(backupFiles, Comparator.comparingLong(File::lastModified));
-            File oldestFile = backupFiles[0];
-            if (oldestFile.delete()) {
-                messagesHelper.sendDebugMessage("Deleted oldest backup file: " + oldestFile.getName());
-            } else {
-                logger.warning("Could not delete oldest backup file: " + oldestFile.getName());
-            }
+        if (trackChanges) {
+            createIncrementalBackup(backupFolder);
+            return;
         }
 
-        SimpleDateFormat formatter = new SimpleDateFormat("dd-MM-yyyy_HH-mm-ss");
-        String formattedDate = formatter.format(new Date());
-        String backupFileName = "backup_" + formattedDate + ".db";
+        String backupFileName = BACKUP_PREFIX + LocalDateTime.now().format(BACKUP_DATE_FORMAT) + BACKUP_EXTENSION;
         File destinationFile = new File(backupFolder, backupFileName);
+        File tempFile = new File(backupFolder, backupFileName + ".tmp");
 
         try {
-            Files.copy(sourceFile.toPath(), destinationFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            messagesHelper.sendDebugMessage("Successfully created database backup: " + destinationFile.getName());
+            long startTime = System.currentTimeMillis();
+            Files.deleteIfExists(tempFile.toPath());
+            writeSnapshot(tempFile);
+
+            String integrityResult = checkIntegrity(tempFile);
+            if (!"ok".equalsIgnoreCase(integrityResult)) {
+                logger.severe("The new database backup failed its integrity check and was discarded: " + integrityResult);
+                Files.deleteIfExists(tempFile.toPath());
+                return;
+            }
+
+            Files.move(tempFile.toPath(), destinationFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            messagesHelper.sendDebugMessage("Successfully created database backup: " + destinationFile.getName() + " in " + (System.currentTimeMillis() - startTime) + "ms.");
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Could not create SQLite database backup!", e);
+            if (!tempFile.delete() && tempFile.exists()) logger.warning("Could not delete temporary backup file: " + tempFile.getName());
+            return;
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Could not create SQLite database backup! Check file permissions.", e);
+            return;
+        }
+
+        rotateBackups(backupFolder);
+    }
+
+    /**
+     * Writes either a new compressed snapshot or, if one exists, a compressed delta holding the current rows of
+     * every player that changed since the previous backup.
+     */
+    private void createIncrementalBackup(File backupFolder) {
+        boolean snapshot = deltasSinceSnapshot < 0 || deltasSinceSnapshot >= configHandler.getAutoBackupSnapshotEvery();
+        if (!snapshot && changedSinceBackup.isEmpty()) {
+            messagesHelper.sendDebugMessage("No player data changed since the last backup. Skipping.");
+            return;
+        }
+
+        String timestamp = LocalDateTime.now().format(BACKUP_DATE_FORMAT);
+        File destinationFile = new File(backupFolder, BACKUP_PREFIX + timestamp + (snapshot ? SNAPSHOT_EXTENSION : DELTA_EXTENSION));
+        File tempFile = new File(backupFolder, BACKUP_PREFIX + timestamp + ".tmp");
+
+        // Taken before any rows are read, so changes made while the backup runs are kept for the next one.
+        Set<UUID> changedPlayers = new HashSet<>(changedSinceBackup);
+        changedSinceBackup.removeAll(changedPlayers);
+
+        try {
+            long startTime = System.currentTimeMillis();
+            Files.deleteIfExists(tempFile.toPath());
+            if (snapshot) {
+                writeSnapshot(tempFile);
+                String integrityResult = checkIntegrity(tempFile);
+                if (!"ok".equalsIgnoreCase(integrityResult)) {
+                    throw new SQLException("The snapshot failed its integrity check: " + integrityResult);
+                }
+            } else {
+                writeDelta(tempFile, changedPlayers);
+            }
+            compress(tempFile, destinationFile);
+
+            deltasSinceSnapshot = snapshot ? 0 : deltasSinceSnapshot + 1;
+            messagesHelper.sendDebugMessage("Successfully created " + (snapshot ? "database snapshot" : "incremental backup of " + changedPlayers.size() + " player(s)")
+                    + ": " + destinationFile.getName() + " in " + (System.currentTimeMillis() - startTime) + "ms.");
+        } catch (SQLException | IOException | RuntimeException e) {
+            changedSinceBackup.addAll(changedPlayers);
+            logger.log(Level.SEVERE, "Could not create incremental SQLite database backup!", e);
+            return;
+        } finally {
+            if (!tempFile.delete() && tempFile.exists()) logger.warning("Could not delete temporary backup file: " + tempFile.getName());
+        }
+
+        rotateBackups(backupFolder);
+    }
+
+    /**
+     * Writes a consistent copy of the live database with VACUUM INTO, always on a read-only connection so the
+     * writer pool stays free. Requires WAL mode, where the copy is taken from a snapshot and writes continue while it runs.
+     */
+    private void writeSnapshot(File target) throws SQLException {
+        if (this.readDataSource != null) {
+            this.withReadConnection((connection) -> {
+                try {
+                    vacuumInto(connection, target);
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            });
+            return;
+        }
+
+        File liveDbFile = new File(new File(plugin.getDataFolder(), Constants.Files.DB_FOLDER), Constants.Files.SQLITE_DB_NAME);
+        Properties properties = new Properties();
+        properties.setProperty("open_mode", String.valueOf(SQLITE_OPEN_READONLY));
+        properties.setProperty("busy_timeout", String.valueOf(SQLITE_BUSY_TIMEOUT_MS));
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + liveDbFile.getAbsolutePath(), properties)) {
+            vacuumInto(connection, target);
+        }
+    }
+
+    private void vacuumInto(Connection connection, File target) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("VACUUM INTO ?")) {
+            stmt.setString(1, target.getAbsolutePath());
+            stmt.execute();
+        }
+    }
+
+    /**
+     * Writes the current rows of the given players into a new SQLite file, together with the list of players.
+     * Restoring replaces all rows of those players, so rows deleted since the previous backup are restored too.
+     */
+    private void writeDelta(File target, Set<UUID> players) throws SQLException {
+        File liveDbFile = new File(new File(plugin.getDataFolder(), Constants.Files.DB_FOLDER), Constants.Files.SQLITE_DB_NAME);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + target.getAbsolutePath())) {
+            try (PreparedStatement stmt = connection.prepareStatement("ATTACH DATABASE ? AS live")) {
+                stmt.setString(1, liveDbFile.getAbsolutePath());
+                stmt.execute();
+            }
+
+            // One transaction, so all tables are read from the same state of the live database.
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CREATE TABLE " + DELTA_PLAYERS_TABLE + " (uuid PRIMARY KEY)");
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + DELTA_PLAYERS_TABLE + " (uuid) VALUES (?)")) {
+                    for (UUID uuid : players) {
+                        setUuid(insert, 1, uuid);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+
+                for (TableLayout layout : getTableLayouts()) {
+                    String table = applyPrefix(layout.table());
+                    stmt.execute("CREATE TABLE main." + table + " AS SELECT * FROM live." + table
+                            + " WHERE " + layout.uuidColumn() + " IN (SELECT uuid FROM " + DELTA_PLAYERS_TABLE + ")");
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Turns a backup into a plain database file. An incremental backup is rebuilt from the snapshot it builds on,
+     * followed by every delta up to and including the chosen one.
+     */
+    private void restoreBackupFile(File backupFile, File target) throws IOException, SQLException {
+        String fileName = backupFile.getName();
+        if (fileName.endsWith(SNAPSHOT_EXTENSION)) {
+            decompress(backupFile, target);
+            return;
+        }
+        if (!fileName.endsWith(DELTA_EXTENSION)) {
+            Files.copy(backupFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return;
+        }
+
+        LocalDateTime backupTime = getBackupTime(fileName);
+        File[] files = backupFile.getParentFile().listFiles((dir, name) -> getBackupTime(name) != null);
+        if (files == null || backupTime == null) throw new IOException("Could not read the backups folder.");
+
+        List<File> chain = new ArrayList<>();
+        for (File file : sortByBackupTime(files)) {
+            if (getBackupTime(file.getName()).isAfter(backupTime)) break;
+            if (file.getName().endsWith(SNAPSHOT_EXTENSION)) {
+                chain.clear();
+                chain.add(file);
+            } else if (file.getName().endsWith(DELTA_EXTENSION) && !chain.isEmpty()) {
+                chain.add(file);
+            }
+        }
+        if (chain.isEmpty()) throw new IOException("No snapshot found for the incremental backup " + fileName + ".");
+
+        decompress(chain.get(0), target);
+        for (File delta : chain.subList(1, chain.size())) {
+            applyDelta(target, delta);
+        }
+        logger.info("Rebuilt " + fileName + " from snapshot " + chain.get(0).getName() + " and " + (chain.size() - 1) + " incremental backup(s).");
+    }
+
+    private void applyDelta(File databaseFile, File delta) throws IOException, SQLException {
+        File deltaFile = new File(databaseFile.getParentFile(), delta.getName() + ".tmp");
+        decompress(delta, deltaFile);
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath())) {
+            try (PreparedStatement stmt = connection.prepareStatement("ATTACH DATABASE ? AS delta")) {
+                stmt.setString(1, deltaFile.getAbsolutePath());
+                stmt.execute();
+            }
+
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                for (TableLayout layout : getTableLayouts()) {
+                    String table = applyPrefix(layout.table());
+                    stmt.executeUpdate("DELETE FROM main." + table + " WHERE " + layout.uuidColumn()
+                            + " IN (SELECT uuid FROM delta." + DELTA_PLAYERS_TABLE + ")");
+                    stmt.executeUpdate("INSERT INTO main." + table + " SELECT * FROM delta." + table);
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } finally {
+            Files.deleteIfExists(deltaFile.toPath());
+        }
+    }
+
+    private void compress(File source, File target) throws IOException {
+        File tempFile = new File(target.getParentFile(), target.getName() + ".tmp");
+        try (InputStream in = Files.newInputStream(source.toPath());
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(tempFile.toPath()), 65536)) {
+            in.transferTo(out);
+        }
+        Files.move(tempFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void decompress(File source, File target) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(source.toPath()), 65536)) {
+            Files.copy(in, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * @return "ok" if the database file is intact, otherwise the first problem SQLite found.
+     */
+    private String checkIntegrity(File databaseFile) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA integrity_check")) {
+            return rs.next() ? rs.getString(1) : "no result";
+        }
+    }
+
+    /**
+     * Deletes the oldest backups until at most the configured amount is left. An incremental backup is only
+     * deleted together with the snapshot it builds on, and the newest snapshot is always kept. Files whose name
+     * does not contain a backup timestamp are never touched.
+     */
+    private void rotateBackups(File backupFolder) {
+        File[] backupFiles = backupFolder.listFiles((dir, name) -> getBackupTime(name) != null);
+        int maxBackups = configHandler.getAutoBackupMaxBackups();
+        if (backupFiles == null || backupFiles.length <= maxBackups) return;
+
+        // Group the backups into chains that can only be restored together.
+        List<List<File>> chains = new ArrayList<>();
+        for (File file : sortByBackupTime(backupFiles)) {
+            if (chains.isEmpty() || !file.getName().endsWith(DELTA_EXTENSION)) {
+                chains.add(new ArrayList<>());
+            }
+            chains.get(chains.size() - 1).add(file);
+        }
+
+        int remaining = backupFiles.length;
+        for (int i = 0; i < chains.size() - 1 && remaining > maxBackups; i++) {
+            for (File oldestFile : chains.get(i)) {
+                if (oldestFile.delete()) {
+                    messagesHelper.sendDebugMessage("Deleted oldest backup file: " + oldestFile.getName());
+                } else {
+                    logger.warning("Could not delete oldest backup file: " + oldestFile.getName());
+                }
+                remaining--;
+            }
+        }
+    }
+
+    private List<File> sortByBackupTime(File[] backupFiles) {
+        List<File> sorted = new ArrayList<>(Arrays.asList(backupFiles));
+        sorted.sort(Comparator.comparing((File file) -> getBackupTime(file.getName())));
+        return sorted;
+    }
+
+    /**
+     * @return The creation time encoded in a backup file name, or null if the file is not a backup.
+     */
+    private @Nullable LocalDateTime getBackupTime(String fileName) {
+        if (!fileName.startsWith(BACKUP_PREFIX)) return null;
+
+        String extension = null;
+        for (String candidate : List.of(SNAPSHOT_EXTENSION, DELTA_EXTENSION, BACKUP_EXTENSION)) {
+            if (fileName.endsWith(candidate)) {
+                extension = candidate;
+                break;
+            }
+        }
+        if (extension == null) return null;
+
+        String timestamp = fileName.substring(BACKUP_PREFIX.length(), fileName.length() - extension.length());
+        for (DateTimeFormatter format : List.of(BACKUP_DATE_FORMAT, LEGACY_BACKUP_DATE_FORMAT)) {
+            try {
+                return LocalDateTime.parse(timestamp, format);
+            } catch (DateTimeParseException ignored) {
+            }
         }
+        return null;
     }
 
     //</editor-fold>
 
-    public int getPlayerFlightTime(UUID uuid) throws SQLException {
-        String tableName = applyPrefix(Constants.Database.Tables.ELYTRA_FLIGHT_TIME);
-        String query = "SELECT flight_time FROM " + tableName + " WHERE uuid = ?";
+    /**
+     * Loads all data needed for a player's session using a single pooled connection.
+     *
+     * @param uuid The UUID of the player.
+     * @return The player's flight time, stats, effects and unlocked achievements.
+     * @throws SQLException If a database error occurs.
+     */
+    public PlayerSessionData loadPlayerSession(UUID uuid) throws SQLException {
+        String ownedEffectsTable = applyPrefix(Constants.Database.Tables.OWNED_EFFECTS);
+        String effectsQuery = "SELECT effect_key, is_active FROM " + ownedEffectsTable + " WHERE player_uuid = ?";
 
-        return this.withConnection((connection) -> {
-            try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, uuid.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return rs.getInt("flight_time");
+        return this.withReadConnection((connection) -> {
+            try {
+                int flightTime = readPlayerFlightTime(connection, uuid);
+                PlayerStats stats = readPlayerStats(connection, uuid);
+
+                String activeEffect = null;
+                List<String> ownedEffects = new ArrayList<>();
+                try (PreparedStatement stmt = connection.prepareStatement(effectsQuery)) {
+                    setUuid(stmt, 1, uuid);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            String effectKey = rs.getString(Constants.NBT.EFFECT_KEY);
+                            ownedEffects.add(effectKey);
+                            if (rs.getBoolean("is_active")) activeEffect = effectKey;
+                        }
                     }
                 }
+
+                Set<String> unlockedAchievements = readUnlockedAchievementIds(connection, uuid);
+                return new PlayerSessionData(flightTime, stats, activeEffect, ownedEffects, unlockedAchievements);
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
-            return 0;
         });
     }
 
-    public void setPlayerFlightTime(UUID uuid, int time) throws SQLException {
+    public int getPlayerFlightTime(UUID uuid) throws SQLException {
+        return this.withReadConnection((connection) -> {
+            try {
+                return readPlayerFlightTime(connection, uuid);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private int readPlayerFlightTime(Connection connection, UUID uuid) throws SQLException {
         String tableName = applyPrefix(Constants.Database.Tables.ELYTRA_FLIGHT_TIME);
-        String query;
+        String query = "SELECT flight_time FROM " + tableName + " WHERE uuid = ?";
 
-        if (storageType == StorageType.MYSQL) {
-            query = "INSERT INTO " + tableName + " (uuid, flight_time) VALUES (?, ?) ON DUPLICATE KEY UPDATE flight_time = ?";
-        } else {
-            query = "REPLACE INTO " + tableName + " (uuid, flight_time) VALUES (?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            setUuid(stmt, 1, uuid);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt("flight_time");
+                }
+            }
         }
+        return 0;
+    }
+
+    public void setPlayerFlightTime(UUID uuid, int time) throws SQLException {
+        String query = getFlightTimeUpsertQuery(1);
 
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, uuid.toString());
-                stmt.setInt(2, time);
-
-                if (storageType == StorageType.MYSQL) {
-                    stmt.setInt(3, time); // For ON DUPLICATE KEY UPDATE
-                }
-
+                bindFlightTime(stmt, 0, uuid, time);
                 stmt.executeUpdate();
                 return null;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(uuid);
     }
 
     public void addOwnedEffect(UUID playerUuid, String effectKey) throws SQLException {
@@ -368,7 +870,7 @@ public class DatabaseHandler {
 
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerUuid.toString());
+                setUuid(stmt, 1, playerUuid);
                 stmt.setString(2, effectKey);
                 stmt.setBoolean(3, false); // New effects are inactive by default
                 stmt.executeUpdate();
@@ -377,6 +879,7 @@ public class DatabaseHandler {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(playerUuid);
 
     }
 
@@ -393,7 +896,7 @@ public class DatabaseHandler {
 
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerUuid.toString());
+                setUuid(stmt, 1, playerUuid);
                 stmt.setString(2, effectKey);
                 stmt.executeUpdate();
                 return null;
@@ -401,6 +904,7 @@ public class DatabaseHandler {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(playerUuid);
     }
 
     public void updateOwnedEffect(UUID playerId, String effectKey, boolean isActive) throws SQLException {
@@ -410,7 +914,7 @@ public class DatabaseHandler {
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
                 stmt.setBoolean(1, isActive);
-                stmt.setString(2, playerId.toString());
+                setUuid(stmt, 2, playerId);
                 stmt.setString(3, effectKey);
                 stmt.executeUpdate();
                 return null;
@@ -418,16 +922,17 @@ public class DatabaseHandler {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(playerId);
     }
 
     public List<String> getOwnedEffectKeys(UUID playerId) throws SQLException {
         String tableName = applyPrefix(Constants.Database.Tables.OWNED_EFFECTS);
         String query = "SELECT effect_key FROM " + tableName + " WHERE player_uuid = ?";
 
-        return this.withConnection((connection) -> {
+        return this.withReadConnection((connection) -> {
             List<String> ownedEffects = new ArrayList<>();
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerId.toString());
+                setUuid(stmt, 1, playerId);
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
                         ownedEffects.add(rs.getString(Constants.NBT.EFFECT_KEY));
@@ -445,9 +950,9 @@ public class DatabaseHandler {
         String tableName = applyPrefix(Constants.Database.Tables.OWNED_EFFECTS);
         String query = "SELECT effect_key FROM " + tableName + " WHERE player_uuid = ? AND is_active = 1";
 
-        return this.withConnection((connection) -> {
+        return this.withReadConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerId.toString());
+                setUuid(stmt, 1, playerId);
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
                         return rs.getString(Constants.NBT.EFFECT_KEY);
@@ -470,32 +975,40 @@ public class DatabaseHandler {
      * @throws SQLException If a database error occurs.
      */
     public PlayerStats getPlayerStats(UUID uuid) throws SQLException {
+        return this.withReadConnection((connection) -> {
+            try {
+                return readPlayerStats(connection, uuid);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private PlayerStats readPlayerStats(Connection connection, UUID uuid) throws SQLException {
         String tableName = applyPrefix(Constants.Database.Tables.PLAYER_STATS);
         String query = "SELECT * FROM " + tableName + " WHERE uuid = ?";
 
-        return this.withConnection((connection) -> {
-            try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, uuid.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        // Player found — load stats
-                        PlayerStats stats = new PlayerStats(uuid);
-                        stats.setTotalDistance(rs.getDouble("total_distance"));
-                        stats.setTotalTimeSeconds(rs.getLong("total_time_seconds"));
-                        stats.setLongestFlight(rs.getDouble("longest_flight"));
-                        stats.setBoostsUsed(rs.getInt("boosts_used"));
-                        stats.setSuperBoostsUsed(rs.getInt("super_boosts_used"));
-                        stats.setPluginSaves(rs.getInt("plugin_saves"));
-                        return stats;
-                    }
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            setUuid(stmt, 1, uuid);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    // Player found — load stats
+                    PlayerStats stats = new PlayerStats(uuid);
+                    stats.setTotalDistance(rs.getDouble("total_distance"));
+                    stats.setTotalTimeSeconds(rs.getLong("total_time_seconds"));
+                    stats.setLongestFlight(rs.getDouble("longest_flight"));
+                    stats.setBoostsUsed(rs.getInt("boosts_used"));
+                    stats.setSuperBoostsUsed(rs.getInt("super_boosts_used"));
+                    stats.setPluginSaves(rs.getInt("plugin_saves"));
+                    // Freshly loaded, so nothing to save yet
+                    stats.markSaved(stats.getVersion());
+                    return stats;
                 }
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
             }
+        }
 
-            // Player not found — return default stats
-            return new PlayerStats(uuid);
-        });
+        // Player not found — return default stats
+        return new PlayerStats(uuid);
     }
 
     /**
@@ -525,7 +1038,7 @@ public class DatabaseHandler {
         this.withConnection((connection) -> {
             // Reset Player Stats Table
             try (PreparedStatement stmt = connection.prepareStatement(resetStatsQuery)) {
-                stmt.setString(1, uuid.toString());
+                setUuid(stmt, 1, uuid);
                 stmt.executeUpdate();
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -533,7 +1046,7 @@ public class DatabaseHandler {
 
             // Reset Flight Time Table
             try (PreparedStatement stmt = connection.prepareStatement(resetFlightTimeQuery)) {
-                stmt.setString(1, uuid.toString());
+                setUuid(stmt, 1, uuid);
                 stmt.executeUpdate();
             } catch (SQLException e) {
                 throw new RuntimeException(e);
@@ -541,6 +1054,7 @@ public class DatabaseHandler {
 
             return null;
         });
+        markChanged(uuid);
     }
 
     /**
@@ -557,13 +1071,13 @@ public class DatabaseHandler {
         // Query selects top players, ordered by the given stat column
         String query = "SELECT uuid, " + statColumn + " FROM " + tableName + " ORDER BY " + statColumn + " DESC LIMIT ?";
 
-        return this.withConnection((connection) -> {
+        return this.withReadConnection((connection) -> {
             Map<UUID, Double> topStats = new LinkedHashMap<>();
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
                 stmt.setInt(1, limit);
                 try (ResultSet rs = stmt.executeQuery()) {
                     while (rs.next()) {
-                        UUID uuid = UUID.fromString(rs.getString("uuid"));
+                        UUID uuid = getUuid(rs, "uuid");
                         double value = rs.getDouble(statColumn);
                         topStats.put(uuid, value);
                     }
@@ -575,6 +1089,36 @@ public class DatabaseHandler {
         });
     }
 
+    /**
+     * Reads the ranked statistics (distance, flight time and longest flight) of every player.
+     * Only those three fields are filled in on the returned objects.
+     *
+     * @return The ranked statistics of all players that have any stored.
+     * @throws SQLException If a database error occurs.
+     */
+    public List<PlayerStats> getLeaderboardStats() throws SQLException {
+        String tableName = applyPrefix(Constants.Database.Tables.PLAYER_STATS);
+        String query = "SELECT uuid, total_distance, total_time_seconds, longest_flight FROM " + tableName;
+
+        return this.withReadConnection((connection) -> {
+            List<PlayerStats> allStats = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(query);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    PlayerStats stats = new PlayerStats(getUuid(rs, "uuid"));
+                    stats.setTotalDistance(rs.getDouble("total_distance"));
+                    stats.setTotalTimeSeconds(rs.getLong("total_time_seconds"));
+                    stats.setLongestFlight(rs.getDouble("longest_flight"));
+                    stats.markSaved(stats.getVersion());
+                    allStats.add(stats);
+                }
+                return allStats;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
     /**
      * Calculates a player's rank for a specific statistic.
      *
@@ -590,9 +1134,9 @@ public class DatabaseHandler {
         String query = "SELECT COUNT(*) FROM " + tableName +
                 " WHERE " + statColumn + " > (SELECT " + statColumn + " FROM " + tableName + " WHERE uuid = ?)";
 
-        return this.withConnection((connection) -> {
+        return this.withReadConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, uuid.toString());
+                setUuid(stmt, 1, uuid);
                 try (ResultSet rs = stmt.executeQuery()) {
                     if (rs.next()) {
                         return rs.getInt(1) + 1; // Rank is 1 + number of players better
@@ -614,45 +1158,185 @@ public class DatabaseHandler {
      * @throws SQLException If a database error occurs.
      */
     public void savePlayerStats(PlayerStats stats) throws SQLException {
-        String tableName = applyPrefix(Constants.Database.Tables.PLAYER_STATS);
-        String query;
-
-        if (storageType == StorageType.MYSQL) {
-            query = "INSERT INTO " + tableName + " (uuid, total_distance, total_time_seconds, longest_flight, boosts_used, super_boosts_used, plugin_saves) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
-                    "total_distance = ?, total_time_seconds = ?, longest_flight = ?, boosts_used = ?, super_boosts_used = ?, plugin_saves = ?";
-        } else {
-            query = "REPLACE INTO " + tableName + " (uuid, total_distance, total_time_seconds, longest_flight, boosts_used, super_boosts_used, plugin_saves) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
-        }
+        String query = getPlayerStatsUpsertQuery(1);
 
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                // Set values for INSERT
-                stmt.setString(1, stats.getUuid().toString());
-                stmt.setDouble(2, stats.getTotalDistance());
-                stmt.setLong(3, stats.getTotalTimeSeconds());
-                stmt.setDouble(4, stats.getLongestFlight());
-                stmt.setInt(5, stats.getBoostsUsed());
-                stmt.setInt(6, stats.getSuperBoostsUsed());
-                stmt.setInt(7, stats.getPluginSaves());
-
-                // If MySQL, set values again for the UPDATE part
-                if (storageType == StorageType.MYSQL) {
-                    stmt.setDouble(8, stats.getTotalDistance());
-                    stmt.setLong(9, stats.getTotalTimeSeconds());
-                    stmt.setDouble(10, stats.getLongestFlight());
-                    stmt.setInt(11, stats.getBoostsUsed());
-                    stmt.setInt(12, stats.getSuperBoostsUsed());
-                    stmt.setInt(13, stats.getPluginSaves());
-                }
-
+                bindPlayerStats(stmt, 0, stats);
                 stmt.executeUpdate();
                 return null;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(stats.getUuid());
+    }
+
+    /**
+     * Saves the flight times of many players using batched upserts in a single transaction.
+     *
+     * @param flightTimes The flight times to save, keyed by player UUID.
+     * @throws SQLException If a database error occurs.
+     */
+    public void saveFlightTimes(Map<UUID, Integer> flightTimes) throws SQLException {
+        savePlayerData(flightTimes, List.of());
+    }
+
+    /**
+     * Saves the statistics of many players using batched upserts in a single transaction.
+     *
+     * @param stats The PlayerStats objects to save.
+     * @throws SQLException If a database error occurs.
+     */
+    public void savePlayerStats(Collection<PlayerStats> stats) throws SQLException {
+        savePlayerData(Map.of(), stats);
+    }
+
+    /**
+     * Saves flight times and statistics for many players in a single transaction.
+     * Either every row is written or, on failure, none of them are.
+     *
+     * @param flightTimes The flight times to save, keyed by player UUID.
+     * @param stats       The PlayerStats objects to save.
+     * @throws SQLException If a database error occurs.
+     */
+    public void savePlayerData(Map<UUID, Integer> flightTimes, Collection<PlayerStats> stats) throws SQLException {
+        if (flightTimes.isEmpty() && stats.isEmpty()) return;
+
+        this.withConnection((connection) -> {
+            try {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    executeUpsertBatch(connection, new ArrayList<>(flightTimes.entrySet()), this::getFlightTimeUpsertQuery,
+                            FLIGHT_TIME_COLUMNS, (stmt, offset, entry) -> bindFlightTime(stmt, offset, entry.getKey(), entry.getValue()));
+                    executeUpsertBatch(connection, new ArrayList<>(stats), this::getPlayerStatsUpsertQuery,
+                            PLAYER_STATS_COLUMNS, this::bindPlayerStats);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        markChanged(flightTimes.keySet());
+        for (PlayerStats playerStats : stats) {
+            markChanged(playerStats.getUuid());
+        }
+    }
+
+    /**
+     * Writes rows in chunks of {@link #UPSERT_BATCH_SIZE}.
+     * MySQL gets one multi-row statement per chunk, SQLite gets one single-row statement per row,
+     * both are sent to the database as JDBC batches.
+     */
+    private <T> void executeUpsertBatch(Connection connection, List<T> rows, IntFunction<String> queryForRows,
+                                        int columnCount, RowBinder<T> binder) throws SQLException {
+        if (rows.isEmpty()) return;
+
+        if (storageType == StorageType.MYSQL) {
+            int fullChunks = rows.size() / UPSERT_BATCH_SIZE;
+            if (fullChunks > 0) {
+                try (PreparedStatement stmt = connection.prepareStatement(queryForRows.apply(UPSERT_BATCH_SIZE))) {
+                    for (int chunk = 0; chunk < fullChunks; chunk++) {
+                        int first = chunk * UPSERT_BATCH_SIZE;
+                        for (int i = 0; i < UPSERT_BATCH_SIZE; i++) {
+                            binder.bind(stmt, i * columnCount, rows.get(first + i));
+                        }
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+
+            int remaining = rows.size() - fullChunks * UPSERT_BATCH_SIZE;
+            if (remaining > 0) {
+                try (PreparedStatement stmt = connection.prepareStatement(queryForRows.apply(remaining))) {
+                    int first = fullChunks * UPSERT_BATCH_SIZE;
+                    for (int i = 0; i < remaining; i++) {
+                        binder.bind(stmt, i * columnCount, rows.get(first + i));
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            return;
+        }
+
+        try (PreparedStatement stmt = connection.prepareStatement(queryForRows.apply(1))) {
+            for (int i = 0; i < rows.size(); i++) {
+                binder.bind(stmt, 0, rows.get(i));
+                stmt.addBatch();
+
+                if ((i + 1) % UPSERT_BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement stmt, int offset, T row) throws SQLException;
+    }
+
+    /**
+     * Builds an upsert for the given number of rows. Multiple rows are only supported on MySQL.
+     */
+    private String getFlightTimeUpsertQuery(int rows) {
+        String tableName = applyPrefix(Constants.Database.Tables.ELYTRA_FLIGHT_TIME);
+
+        if (storageType == StorageType.MYSQL) {
+            return "INSERT INTO " + tableName + " (uuid, flight_time) VALUES " + getRowPlaceholders(FLIGHT_TIME_COLUMNS, rows) +
+                    " ON DUPLICATE KEY UPDATE flight_time = VALUES(flight_time)";
+        }
+        return "INSERT INTO " + tableName + " (uuid, flight_time) VALUES " + getRowPlaceholders(FLIGHT_TIME_COLUMNS, 1) +
+                " ON CONFLICT(uuid) DO UPDATE SET flight_time = excluded.flight_time";
+    }
+
+    private void bindFlightTime(PreparedStatement stmt, int offset, UUID uuid, int time) throws SQLException {
+        setUuid(stmt, offset + 1, uuid);
+        stmt.setInt(offset + 2, time);
+    }
+
+    /**
+     * Builds an upsert for the given number of rows. Multiple rows are only supported on MySQL.
+     */
+    private String getPlayerStatsUpsertQuery(int rows) {
+        String tableName = applyPrefix(Constants.Database.Tables.PLAYER_STATS);
+        String columns = " (uuid, total_distance, total_time_seconds, longest_flight, boosts_used, super_boosts_used, plugin_saves) VALUES ";
+
+        if (storageType == StorageType.MYSQL) {
+            return "INSERT INTO " + tableName + columns + getRowPlaceholders(PLAYER_STATS_COLUMNS, rows) + " ON DUPLICATE KEY UPDATE " +
+                    "total_distance = VALUES(total_distance), total_time_seconds = VALUES(total_time_seconds), longest_flight = VALUES(longest_flight), " +
+                    "boosts_used = VALUES(boosts_used), super_boosts_used = VALUES(super_boosts_used), plugin_saves = VALUES(plugin_saves)";
+        }
+        return "INSERT INTO " + tableName + columns + getRowPlaceholders(PLAYER_STATS_COLUMNS, 1) + " ON CONFLICT(uuid) DO UPDATE SET " +
+                "total_distance = excluded.total_distance, total_time_seconds = excluded.total_time_seconds, longest_flight = excluded.longest_flight, " +
+                "boosts_used = excluded.boosts_used, super_boosts_used = excluded.super_boosts_used, plugin_saves = excluded.plugin_saves";
+    }
+
+    private void bindPlayerStats(PreparedStatement stmt, int offset, PlayerStats stats) throws SQLException {
+        setUuid(stmt, offset + 1, stats.getUuid());
+        stmt.setDouble(offset + 2, stats.getTotalDistance());
+        stmt.setLong(offset + 3, stats.getTotalTimeSeconds());
+        stmt.setDouble(offset + 4, stats.getLongestFlight());
+        stmt.setInt(offset + 5, stats.getBoostsUsed());
+        stmt.setInt(offset + 6, stats.getSuperBoostsUsed());
+        stmt.setInt(offset + 7, stats.getPluginSaves());
+    }
+
+    /**
+     * @return Placeholders for a multi-row VALUES clause, e.g. "(?, ?), (?, ?)" for two rows of two columns.
+     */
+    private static String getRowPlaceholders(int columns, int rows) {
+        String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
     }
 
 //<editor-fold desc="ACHIEVEMENTS">
@@ -665,24 +1349,29 @@ public class DatabaseHandler {
      * @throws SQLException If a database error occurs.
      */
     public Set<String> getUnlockedAchievementIds(UUID playerUuid) throws SQLException {
-        String tableName = applyPrefix(Constants.Database.Tables.PLAYER_ACHIEVEMENTS);
+        return this.withReadConnection((connection) -> {
+            try {
+                return readUnlockedAchievementIds(connection, playerUuid);
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
 
+    private Set<String> readUnlockedAchievementIds(Connection connection, UUID playerUuid) throws SQLException {
+        String tableName = applyPrefix(Constants.Database.Tables.PLAYER_ACHIEVEMENTS);
         String query = "SELECT achievement_id FROM " + tableName + " WHERE player_uuid = ?";
 
-        return this.withConnection((connection) -> {
-            Set<String> unlockedIds = new HashSet<>();
-            try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerUuid.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    while (rs.next()) {
-                        unlockedIds.add(rs.getString("achievement_id"));
-                    }
+        Set<String> unlockedIds = new HashSet<>();
+        try (PreparedStatement stmt = connection.prepareStatement(query)) {
+            setUuid(stmt, 1, playerUuid);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    unlockedIds.add(rs.getString("achievement_id"));
                 }
-                return unlockedIds;
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
             }
-        });
+        }
+        return unlockedIds;
     }
 
     /**
@@ -698,9 +1387,9 @@ public class DatabaseHandler {
 
         String query = "SELECT 1 FROM " + tableName + " WHERE player_uuid = ? AND achievement_id = ?";
 
-        return this.withConnection((connection) -> {
+        return this.withReadConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerUuid.toString());
+                setUuid(stmt, 1, playerUuid);
                 stmt.setString(2, achievementId);
                 try (ResultSet rs = stmt.executeQuery()) {
                     return rs.next(); // True if a row exists
@@ -712,7 +1401,7 @@ public class DatabaseHandler {
     }
 
     /**
-     * Adds a completed achievement record for a player to the database.
+     * Adds a completed achievement record for a player to the database. Does nothing if it already exists.
      *
      * @param playerUuid    The UUID of the player.
      * @param achievementId The unique ID of the achievement.
@@ -721,16 +1410,13 @@ public class DatabaseHandler {
     public void addAchievement(UUID playerUuid, String achievementId) throws SQLException {
         String tableName = applyPrefix(Constants.Database.Tables.PLAYER_ACHIEVEMENTS);
 
-        String query = "INSERT INTO " + tableName + " (player_uuid, achievement_id) VALUES (?, ?)";
-
-        // Check if the achievement already exists
-        if (hasAchievement(playerUuid, achievementId)) {
-            return;
-        }
+        // A single statement, the primary key already rejects duplicates.
+        String query = (storageType == StorageType.MYSQL ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ") + tableName
+                + " (player_uuid, achievement_id) VALUES (?, ?)";
 
         this.withConnection((connection) -> {
             try (PreparedStatement stmt = connection.prepareStatement(query)) {
-                stmt.setString(1, playerUuid.toString());
+                setUuid(stmt, 1, playerUuid);
                 stmt.setString(2, achievementId);
                 stmt.executeUpdate();
                 return null;
@@ -738,102 +1424,692 @@ public class DatabaseHandler {
                 throw new RuntimeException(e);
             }
         });
+        markChanged(playerUuid);
     }
 
 //</editor-fold>
 
-    private void migrateOldTables() throws SQLException {
-        migrateIfNeeded(Constants.Database.Tables.ELYTRA_FLIGHT_TIME, applyPrefix(Constants.Database.Tables.ELYTRA_FLIGHT_TIME));
-        migrateIfNeeded(Constants.Database.Tables.OWNED_EFFECTS, applyPrefix(Constants.Database.Tables.OWNED_EFFECTS));
-        migrateIfNeeded(Constants.Database.Tables.PLAYER_STATS, applyPrefix(Constants.Database.Tables.PLAYER_STATS));
-        migrateIfNeeded(Constants.Database.Tables.PLAYER_ACHIEVEMENTS, applyPrefix(Constants.Database.Tables.PLAYER_ACHIEVEMENTS));
+    //<editor-fold desc="STORAGE MIGRATION">
+    /**
+     * Creates a handler for the storage type that is not in use, e.g. as the target of a storage migration.
+     * Call {@link #initialize()} on it to connect and create its tables.
+     */
+    public DatabaseHandler createCounterpart() {
+        DatabaseHandler counterpart = new DatabaseHandler(plugin, configHandler, foliaHelper, messagesHelper, logger);
+        counterpart.storageType = (storageType == StorageType.SQLITE) ? StorageType.MYSQL : StorageType.SQLITE;
+        counterpart.trackChanges = false;
+        return counterpart;
     }
 
-    private void migrateIfNeeded(String oldTable, String newTable) throws SQLException {
-        if (tableExists(oldTable) && !tableExists(newTable)) {
-            logger.info("Migrating data from old table: " + oldTable + " → " + newTable);
+    /**
+     * Starts recording which players' rows change, see {@link #drainTrackedChanges()}.
+     */
+    public void startChangeTracking() {
+        migrationChanges = ConcurrentHashMap.newKeySet();
+    }
 
-            // Ensure new table exists
-            executeTableQuery(newTable);
+    public void stopChangeTracking() {
+        migrationChanges = null;
+    }
 
-            // Copy data
-            this.withConnection((connection) -> {
-                try (Statement stmt = connection.createStatement()) {
-                    stmt.executeUpdate("INSERT INTO " + newTable + " SELECT * FROM " + oldTable + ";");
-                    return null;
-                } catch (SQLException e) {
-                    throw new RuntimeException(e);
+    /**
+     * @return The players whose rows changed since the last call. Changes made from now on are kept for the next one.
+     */
+    public Set<UUID> drainTrackedChanges() {
+        Set<UUID> tracked = migrationChanges;
+        if (tracked == null) return Set.of();
+
+        Set<UUID> changed = new HashSet<>(tracked);
+        tracked.removeAll(changed);
+        return changed;
+    }
+
+    /**
+     * @return The number of rows in all player data tables.
+     */
+    public long countRows() throws SQLException {
+        try (Connection connection = getReadDataSource().getConnection();
+             Statement stmt = connection.createStatement()) {
+            long rows = 0;
+            for (TableLayout layout : getTableLayouts()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + applyPrefix(layout.table()))) {
+                    if (rs.next()) rows += rs.getLong(1);
                 }
-            });
+            }
+            return rows;
+        }
+    }
 
-            logger.info("Migration complete for table: " + oldTable);
+    /**
+     * Deletes all player data. Only meant for the target of a storage migration.
+     */
+    public void clearData() throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement stmt = connection.createStatement()) {
+            for (TableLayout layout : getTableLayouts()) {
+                stmt.executeUpdate("DELETE FROM " + applyPrefix(layout.table()));
+            }
         }
     }
 
-    private boolean tableExists(String tableName) throws SQLException {
-        return this.withConnection((connection) -> {
+    /**
+     * Copies all player data to another database in chunks. Rows that already exist in the target are skipped.
+     *
+     * @param progress Receives the number of rows of every committed chunk.
+     */
+    public void copyDataTo(DatabaseHandler target, LongConsumer progress) throws SQLException {
+        try (Connection source = getReadDataSource().getConnection();
+             Connection destination = target.dataSource.getConnection()) {
+            for (TableLayout layout : getTableLayouts()) {
+                String table = applyPrefix(layout.table());
+                copyRowsInChunks(source, layout, table, destination, target.getInsertIgnoreQuery(layout, table),
+                        target.getColumnConverters(layout), progress);
+            }
+        }
+    }
+
+    /**
+     * Replaces all rows of the given players in another database with their current rows in this one.
+     */
+    public void copyPlayersTo(DatabaseHandler target, Collection<UUID> players) throws SQLException {
+        if (players.isEmpty()) return;
+
+        List<UUID> playerList = new ArrayList<>(players);
+        try (Connection source = getReadDataSource().getConnection();
+             Connection destination = target.dataSource.getConnection()) {
+            boolean autoCommit = destination.getAutoCommit();
+            destination.setAutoCommit(false);
             try {
-                DatabaseMetaData meta = connection.getMetaData();
-                try (ResultSet rs = meta.getTables(null, null, tableName, null)) {
-                    return rs.next();
+                for (int start = 0; start < playerList.size(); start += UPSERT_BATCH_SIZE) {
+                    List<UUID> batch = playerList.subList(start, Math.min(start + UPSERT_BATCH_SIZE, playerList.size()));
+                    String placeholders = String.join(", ", Collections.nCopies(batch.size(), "?"));
+
+                    for (TableLayout layout : getTableLayouts()) {
+                        String table = applyPrefix(layout.table());
+                        String condition = " WHERE " + layout.uuidColumn() + " IN (" + placeholders + ")";
+
+                        try (PreparedStatement deleteStmt = destination.prepareStatement("DELETE FROM " + table + condition)) {
+                            for (int i = 0; i < batch.size(); i++) {
+                                target.setUuid(deleteStmt, i + 1, batch.get(i));
+                            }
+                            deleteStmt.executeUpdate();
+                        }
+
+                        List<UnaryOperator<Object>> converters = target.getColumnConverters(layout);
+                        try (PreparedStatement selectStmt = source.prepareStatement("SELECT " + String.join(", ", layout.columns()) + " FROM " + table + condition);
+                             PreparedStatement insertStmt = destination.prepareStatement(target.getInsertIgnoreQuery(layout, table))) {
+                            for (int i = 0; i < batch.size(); i++) {
+                                setUuid(selectStmt, i + 1, batch.get(i));
+                            }
+                            try (ResultSet rs = selectStmt.executeQuery()) {
+                                while (rs.next()) {
+                                    for (int i = 0; i < converters.size(); i++) {
+                                        insertStmt.setObject(i + 1, converters.get(i).apply(rs.getObject(i + 1)));
+                                    }
+                                    insertStmt.addBatch();
+                                }
+                            }
+                            insertStmt.executeBatch();
+                        }
+                    }
+                    destination.commit();
                 }
+            } catch (SQLException e) {
+                destination.rollback();
+                throw e;
+            } finally {
+                destination.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Computes a checksum of every player data table. Values are normalized first, so the same data
+     * gives the same checksums on SQLite and MySQL, with either UUID layout.
+     *
+     * @return The checksums, keyed by unprefixed table name.
+     */
+    public Map<String, TableChecksum> checksumData() throws SQLException {
+        Map<String, TableChecksum> checksums = new LinkedHashMap<>();
+        try (Connection connection = getReadDataSource().getConnection()) {
+            for (TableLayout layout : getTableLayouts()) {
+                long[] totals = new long[2];
+                scanTableInChunks(connection, layout, applyPrefix(layout.table()), rows -> {
+                    for (Object[] row : rows) {
+                        totals[0]++;
+                        totals[1] += getRowChecksum(row);
+                    }
+                });
+                checksums.put(layout.table(), new TableChecksum(totals[0], totals[1]));
+            }
+        }
+        return checksums;
+    }
+
+    private HikariDataSource getReadDataSource() {
+        return this.readDataSource != null ? this.readDataSource : this.dataSource;
+    }
+
+    /**
+     * Converts values read from another database into the form this one stores.
+     */
+    private List<UnaryOperator<Object>> getColumnConverters(TableLayout layout) {
+        UnaryOperator<Object> uuidConverter = binaryUuids ? DatabaseHandler::toBinaryUuid : DatabaseHandler::toTextUuid;
+        UnaryOperator<Object> valueConverter = (storageType == StorageType.SQLITE)
+                ? value -> (value instanceof Timestamp timestamp) ? TIMESTAMP_FORMAT.format(timestamp.toLocalDateTime()) : value
+                : UnaryOperator.identity();
+
+        return layout.columns().stream()
+                .map(column -> column.equals(layout.uuidColumn()) ? uuidConverter : valueConverter)
+                .toList();
+    }
+
+    private static long getRowChecksum(Object[] row) {
+        CRC32 crc = new CRC32();
+        for (Object value : row) {
+            crc.update(normalizeValue(value).getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        return crc.getValue();
+    }
+
+    private static String normalizeValue(Object value) {
+        if (value == null) return "";
+        if (value instanceof byte[] bytes && bytes.length == 16) return bytesToUuid(bytes).toString();
+        if (value instanceof Boolean bool) return bool ? "1" : "0";
+        if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+            return Double.toString(((Number) value).doubleValue());
+        }
+        if (value instanceof Number number) return Long.toString(number.longValue());
+        if (value instanceof Timestamp timestamp) return TIMESTAMP_FORMAT.format(timestamp.toLocalDateTime());
+        return value.toString().toLowerCase(Locale.ROOT);
+    }
+    //</editor-fold>
+
+    private boolean tableExists(Connection connection, String tableName) throws SQLException {
+        DatabaseMetaData meta = connection.getMetaData();
+        try (ResultSet rs = meta.getTables(null, null, tableName, null)) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * The lowercase names of all columns of a table in the current database.
+     */
+    private Set<String> getColumnNames(Connection connection, String tableName) throws SQLException {
+        Set<String> columns = new HashSet<>();
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, tableName, null)) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns;
+    }
+
+    private boolean isTableEmpty(Connection connection, String tableName) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT 1 FROM " + tableName + " LIMIT 1")) {
+            return !rs.next();
+        }
+    }
+
+    /**
+     * Brings the schema up to date by running every migration that has not been applied yet, in order.
+     * Migrations that were applied before are verified against their recorded checksum.
+     */
+    private void runMigrations() throws SQLException {
+        String versionTable = applyPrefix(Constants.Database.Tables.SCHEMA_VERSION);
+        Map<Integer, Long> appliedChecksums = this.withConnection((connection) -> {
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate(storageType == StorageType.MYSQL ?
+                        "CREATE TABLE IF NOT EXISTS " + versionTable + " (version INT PRIMARY KEY, description VARCHAR(255) NOT NULL, checksum BIGINT, applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP);" :
+                        "CREATE TABLE IF NOT EXISTS " + versionTable + " (version INTEGER PRIMARY KEY, description TEXT NOT NULL, checksum INTEGER, applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP);");
+
+                // Version tables created before checksums were introduced lack the column.
+                try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, versionTable, "checksum")) {
+                    if (!rs.next()) {
+                        stmt.executeUpdate("ALTER TABLE " + versionTable + " ADD COLUMN checksum BIGINT");
+                    }
+                }
+
+                Map<Integer, Long> checksums = new HashMap<>();
+                try (ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM " + versionTable)) {
+                    while (rs.next()) {
+                        long checksum = rs.getLong("checksum");
+                        checksums.put(rs.getInt("version"), rs.wasNull() ? null : checksum);
+                    }
+                }
+                return checksums;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         });
-    }
 
-    private void initializeTables() throws SQLException {
-        executeTableQuery(Constants.Database.Tables.ELYTRA_FLIGHT_TIME);
-        executeTableQuery(Constants.Database.Tables.OWNED_EFFECTS);
-        executeTableQuery(Constants.Database.Tables.PLAYER_STATS);
-        executeTableQuery(Constants.Database.Tables.PLAYER_ACHIEVEMENTS);
+        for (Migration migration : getMigrations()) {
+            long checksum = migration.checksum();
+
+            if (appliedChecksums.containsKey(migration.version())) {
+                Long recorded = appliedChecksums.get(migration.version());
+                if (recorded == null) {
+                    recordChecksum(versionTable, migration.version(), checksum);
+                } else if (recorded != checksum) {
+                    logger.warning("Database migration V" + migration.version() + " was changed after it was applied. " +
+                            "The database may not match the expected schema.");
+                }
+                continue;
+            }
+
+            logger.info("Applying database migration V" + migration.version() + ": " + migration.description());
+            long startTime = System.currentTimeMillis();
+            applyMigration(versionTable, migration, checksum);
+            logger.info("Database migration V" + migration.version() + " completed in " + (System.currentTimeMillis() - startTime) + "ms.");
+        }
         logger.info("Database tables verified and initialized successfully.");
     }
 
-    private void executeTableQuery(String tableName) throws SQLException {
-        String query = getCreateTableQuery(applyPrefix(tableName));
-        if (query == null) {
-            plugin.getLogger().warning("A database setup issue was detected with table: " + tableName);
-            return;
+    private void applyMigration(String versionTable, Migration migration, long checksum) throws SQLException {
+        this.withConnection((connection) -> {
+            try {
+                if (migration.action() != null) {
+                    migration.action().run(connection);
+                }
+
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try (Statement stmt = connection.createStatement();
+                     PreparedStatement insertStmt = connection.prepareStatement("INSERT INTO " + versionTable + " (version, description, checksum) VALUES (?, ?, ?)")) {
+                    // MySQL commits DDL implicitly, so there these statements are only atomic on SQLite.
+                    for (String statement : migration.statements()) {
+                        stmt.executeUpdate(statement);
+                    }
+
+                    insertStmt.setInt(1, migration.version());
+                    insertStmt.setString(2, migration.description());
+                    insertStmt.setLong(3, checksum);
+                    insertStmt.executeUpdate();
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private void recordChecksum(String versionTable, int version, long checksum) throws SQLException {
+        this.withConnection((connection) -> {
+            try (PreparedStatement stmt = connection.prepareStatement("UPDATE " + versionTable + " SET checksum = ? WHERE version = ?")) {
+                stmt.setLong(1, checksum);
+                stmt.setInt(2, version);
+                stmt.executeUpdate();
+                return null;
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    /**
+     * All schema migrations, oldest first. Never change a migration once released, add a new one instead.
+     */
+    private List<Migration> getMigrations() {
+        String stats = applyPrefix(Constants.Database.Tables.PLAYER_STATS);
+        String ownedEffects = applyPrefix(Constants.Database.Tables.OWNED_EFFECTS);
+
+        List<String> indexQueries = new ArrayList<>(getIndexQueries(Constants.Database.Tables.PLAYER_STATS));
+        indexQueries.addAll(getIndexQueries(Constants.Database.Tables.OWNED_EFFECTS));
+
+        return List.of(
+                // Always the text layout, binary UUIDs are applied afterwards by convertUuidStorage.
+                new Migration(1, "Create base tables", List.of(
+                        getCreateTableQuery(applyPrefix(Constants.Database.Tables.ELYTRA_FLIGHT_TIME), false),
+                        getCreateTableQuery(ownedEffects, false),
+                        getCreateTableQuery(stats, false),
+                        getCreateTableQuery(applyPrefix(Constants.Database.Tables.PLAYER_ACHIEVEMENTS), false))),
+
+                new Migration(2, "Add leaderboard and owned effects indexes", indexQueries),
+
+                new Migration(3, "Copy data from unprefixed legacy tables", this::copyLegacyTables)
+        );
+    }
+
+    /**
+     * The secondary indexes of a table, by its unprefixed name.
+     */
+    private List<String> getIndexQueries(String table) {
+        String tableName = applyPrefix(table);
+
+        // MySQL has no CREATE INDEX IF NOT EXISTS, the version table already keeps these from running twice.
+        String createIndex = storageType == StorageType.MYSQL ? "CREATE INDEX " : "CREATE INDEX IF NOT EXISTS ";
+
+        // Leaderboards sort by these columns and ranks count the rows above a value. The uuid makes the top lists index-only.
+        if (table.equals(Constants.Database.Tables.PLAYER_STATS)) {
+            return List.of(
+                    createIndex + prefix + "idx_stats_distance ON " + tableName + " (total_distance DESC, uuid)",
+                    createIndex + prefix + "idx_stats_time ON " + tableName + " (total_time_seconds DESC, uuid)",
+                    createIndex + prefix + "idx_stats_longest_flight ON " + tableName + " (longest_flight DESC, uuid)");
         }
+        if (table.equals(Constants.Database.Tables.OWNED_EFFECTS)) {
+            return List.of(createIndex + prefix + "idx_owned_effects_player ON " + tableName + " (player_uuid, effect_key)");
+        }
+
+        // Achievements need no extra index, their primary key already starts with player_uuid.
+        return List.of();
+    }
+
+    private List<TableLayout> getTableLayouts() {
+        return List.of(
+                new TableLayout(Constants.Database.Tables.ELYTRA_FLIGHT_TIME, "uuid", List.of("uuid"), List.of("uuid", "flight_time")),
+                new TableLayout(Constants.Database.Tables.OWNED_EFFECTS, "player_uuid", List.of("id"),
+                        List.of("id", "player_uuid", "effect_key", "is_active", "owned_date")),
+                new TableLayout(Constants.Database.Tables.PLAYER_STATS, "uuid", List.of("uuid"),
+                        List.of("uuid", "total_distance", "total_time_seconds", "longest_flight", "boosts_used", "super_boosts_used", "plugin_saves")),
+                new TableLayout(Constants.Database.Tables.PLAYER_ACHIEVEMENTS, "player_uuid", List.of("player_uuid", "achievement_id"),
+                        List.of("player_uuid", "achievement_id", "unlocked_date"))
+        );
+    }
+
+    /**
+     * Versions before table prefixes stored their data in unprefixed tables. Copies it over if the new tables are still empty.
+     */
+    private void copyLegacyTables(Connection connection) throws SQLException {
+        if (prefix.isEmpty()) return;
+
+        for (TableLayout layout : getTableLayouts()) {
+            String legacyTable = layout.table();
+            String newTable = applyPrefix(legacyTable);
+            if (!tableExists(connection, legacyTable) || !isTableEmpty(connection, newTable)) continue;
+
+            // Another plugin may own a table with the same name, only copy one that has exactly our columns.
+            Set<String> legacyColumns = getColumnNames(connection, legacyTable);
+            if (!legacyColumns.equals(Set.copyOf(layout.columns()))) {
+                logger.warning("Skipping old table " + legacyTable + ", its columns " + legacyColumns + " don't match the expected " + layout.columns() + ".");
+                continue;
+            }
+
+            logger.info("Migrating data from old table: " + legacyTable + " → " + newTable);
+            copyTableInChunks(connection, layout, legacyTable, newTable, Map.of());
+        }
+    }
+
+    /**
+     * Copies all rows of one table into another in key order, committing every {@link #MIGRATION_CHUNK_SIZE} rows.
+     * Each chunk only holds its locks briefly, so the source stays usable during the copy. Rows that already exist
+     * in the target are skipped, which makes an interrupted copy safe to run again.
+     *
+     * @param converters Optional conversions applied to the values of the given columns while copying.
+     */
+    private void copyTableInChunks(Connection connection, TableLayout layout, String sourceTable, String targetTable,
+                                   Map<String, UnaryOperator<Object>> converters) throws SQLException {
+        List<UnaryOperator<Object>> columnConverters = layout.columns().stream()
+                .map(column -> converters.getOrDefault(column, UnaryOperator.identity()))
+                .toList();
+
+        long[] copied = { 0 };
+        copyRowsInChunks(connection, layout, sourceTable, connection, getInsertIgnoreQuery(layout, targetTable), columnConverters, rows -> {
+            copied[0] += rows;
+            messagesHelper.sendDebugMessage("Copied " + copied[0] + " rows from " + sourceTable + " to " + targetTable + ".");
+        });
+        logger.info("Copied " + copied[0] + " rows from " + sourceTable + " to " + targetTable + ".");
+    }
+
+    /**
+     * Copies all rows of a table to the target connection, which may be the same as the source.
+     * Each chunk is committed on its own, so an interrupted copy keeps what it already copied.
+     *
+     * @param progress Receives the number of rows of every committed chunk.
+     */
+    private void copyRowsInChunks(Connection source, TableLayout layout, String sourceTable, Connection target, String insertQuery,
+                                  List<UnaryOperator<Object>> columnConverters, LongConsumer progress) throws SQLException {
+        boolean autoCommit = target.getAutoCommit();
+        target.setAutoCommit(false);
+        try (PreparedStatement insertStmt = target.prepareStatement(insertQuery)) {
+            scanTableInChunks(source, layout, sourceTable, rows -> {
+                for (Object[] row : rows) {
+                    for (int i = 0; i < row.length; i++) {
+                        insertStmt.setObject(i + 1, columnConverters.get(i).apply(row[i]));
+                    }
+                    insertStmt.addBatch();
+                }
+                insertStmt.executeBatch();
+                target.commit();
+                progress.accept(rows.size());
+            });
+        } catch (SQLException e) {
+            target.rollback();
+            throw e;
+        } finally {
+            target.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Reads all rows of a table in key order, {@link #MIGRATION_CHUNK_SIZE} rows at a time. Every chunk is fully
+     * read before it is handed over, so the consumer may write to the same connection.
+     */
+    private void scanTableInChunks(Connection connection, TableLayout layout, String table, ChunkConsumer consumer) throws SQLException {
+        List<String> keys = layout.keyColumns();
+        String columnList = String.join(", ", layout.columns());
+
+        // Keyset pagination: (k1 > ?) OR (k1 = ? AND k2 > ?) OR ...
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            StringBuilder condition = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                condition.append(keys.get(j)).append(" = ? AND ");
+            }
+            conditions.add(condition.append(keys.get(i)).append(" > ?)").toString());
+        }
+        String orderBy = " ORDER BY " + String.join(", ", keys) + " LIMIT " + MIGRATION_CHUNK_SIZE;
+        String firstQuery = "SELECT " + columnList + " FROM " + table + orderBy;
+        String nextQuery = "SELECT " + columnList + " FROM " + table + " WHERE " + String.join(" OR ", conditions) + orderBy;
+
+        int[] keyIndexes = keys.stream().mapToInt(key -> layout.columns().indexOf(key)).toArray();
+        try (PreparedStatement firstStmt = connection.prepareStatement(firstQuery);
+             PreparedStatement nextStmt = connection.prepareStatement(nextQuery)) {
+            Object[] lastRow = null;
+            List<Object[]> rows;
+            do {
+                PreparedStatement selectStmt = firstStmt;
+                if (lastRow != null) {
+                    selectStmt = nextStmt;
+                    int parameter = 1;
+                    for (int i = 0; i < keys.size(); i++) {
+                        for (int j = 0; j <= i; j++) {
+                            selectStmt.setObject(parameter++, lastRow[keyIndexes[j]]);
+                        }
+                    }
+                }
+
+                rows = new ArrayList<>(MIGRATION_CHUNK_SIZE);
+                try (ResultSet rs = selectStmt.executeQuery()) {
+                    while (rs.next()) {
+                        Object[] row = new Object[layout.columns().size()];
+                        for (int i = 0; i < row.length; i++) {
+                            row[i] = rs.getObject(i + 1);
+                        }
+                        rows.add(row);
+                    }
+                }
+
+                if (!rows.isEmpty()) {
+                    lastRow = rows.get(rows.size() - 1);
+                    consumer.accept(rows);
+                }
+            } while (rows.size() == MIGRATION_CHUNK_SIZE);
+        }
+    }
+
+    private String getInsertIgnoreQuery(TableLayout layout, String table) {
+        return (storageType == StorageType.MYSQL ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ") + table +
+                " (" + String.join(", ", layout.columns()) + ") VALUES " + getRowPlaceholders(layout.columns().size(), 1);
+    }
+
+    /**
+     * Converts the UUID columns of every table to the layout selected in the config, if they don't match it yet.
+     * Each table is copied into a new table in chunks and then swapped in, so a conversion cut short by a restart resumes.
+     */
+    private void convertUuidStorage() throws SQLException {
         this.withConnection((connection) -> {
-            try (Statement stmt = connection.createStatement()) {
-                stmt.executeUpdate(query);
+            try {
+                for (TableLayout layout : getTableLayouts()) {
+                    String table = applyPrefix(layout.table());
+                    if (isBinaryColumn(connection, table, layout.uuidColumn()) == useBinaryUuids) continue;
+
+                    logger.info("Converting " + table + " to " + (useBinaryUuids ? "binary" : "text") + " UUIDs. The server finishes starting once this is done.");
+                    long startTime = System.currentTimeMillis();
+                    convertUuidColumn(connection, layout, table);
+                    logger.info("Converted " + table + " in " + (System.currentTimeMillis() - startTime) + "ms.");
+                }
                 return null;
             } catch (SQLException e) {
                 throw new RuntimeException(e);
             }
         });
+
+        this.binaryUuids = useBinaryUuids;
     }
 
-    private String getCreateTableQuery(String tableName) {
+    private void convertUuidColumn(Connection connection, TableLayout layout, String table) throws SQLException {
+        String newTable = table + "_conv";
+        String oldTable = table + "_old";
+
+        try (Statement stmt = connection.createStatement()) {
+            // Left behind by an earlier conversion that stopped right before dropping it.
+            stmt.executeUpdate("DROP TABLE IF EXISTS " + oldTable);
+
+            // Left over from an earlier attempt. Resume it, unless it was heading for the other layout.
+            if (tableExists(connection, newTable) && isBinaryColumn(connection, newTable, layout.uuidColumn()) != useBinaryUuids) {
+                stmt.executeUpdate("DROP TABLE " + newTable);
+            }
+            stmt.executeUpdate(getCreateTableQuery(newTable, useBinaryUuids));
+        }
+
+        UnaryOperator<Object> converter = useBinaryUuids ? DatabaseHandler::toBinaryUuid : DatabaseHandler::toTextUuid;
+        List<UnaryOperator<Object>> columnConverters = layout.columns().stream()
+                .map(column -> column.equals(layout.uuidColumn()) ? converter : UnaryOperator.<Object>identity())
+                .toList();
+
+        long totalRows;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            totalRows = rs.next() ? rs.getLong(1) : 0;
+        }
+
+        // Runs during startup, so the console shows how far along it is, at most every few seconds.
+        long[] progress = { 0, System.currentTimeMillis() }; // Rows copied, time of the last log
+        copyRowsInChunks(connection, layout, table, connection, getInsertIgnoreQuery(layout, newTable), columnConverters, rows -> {
+            progress[0] += rows;
+            long now = System.currentTimeMillis();
+            if (now - progress[1] >= UUID_CONVERSION_LOG_INTERVAL_MS) {
+                progress[1] = now;
+                long percent = (totalRows > 0) ? Math.min(100, progress[0] * 100 / totalRows) : 100;
+                logger.info("Converting " + table + ": " + percent + "% (" + progress[0] + "/" + totalRows + " rows)");
+            }
+        });
+
+        boolean autoCommit = connection.getAutoCommit();
+        try (Statement stmt = connection.createStatement()) {
+            if (storageType == StorageType.MYSQL) {
+                stmt.executeUpdate("RENAME TABLE " + table + " TO " + oldTable + ", " + newTable + " TO " + table); // Atomic
+            } else {
+                connection.setAutoCommit(false);
+                stmt.executeUpdate("ALTER TABLE " + table + " RENAME TO " + oldTable);
+                stmt.executeUpdate("ALTER TABLE " + newTable + " RENAME TO " + table);
+                connection.commit();
+                connection.setAutoCommit(autoCommit);
+            }
+
+            // The old table takes its indexes with it, so they are only recreated once it is gone.
+            stmt.executeUpdate("DROP TABLE " + oldTable);
+            for (String indexQuery : getIndexQueries(layout.table())) {
+                stmt.executeUpdate(indexQuery);
+            }
+        } catch (SQLException e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+            throw e;
+        }
+    }
+
+    private boolean isBinaryColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            if (!rs.next()) return false;
+
+            int type = rs.getInt("DATA_TYPE");
+            return type == Types.BINARY || type == Types.VARBINARY || type == Types.LONGVARBINARY || type == Types.BLOB
+                    || "BLOB".equalsIgnoreCase(rs.getString("TYPE_NAME"));
+        }
+    }
+
+    private void setUuid(PreparedStatement stmt, int index, UUID uuid) throws SQLException {
+        if (binaryUuids) {
+            stmt.setBytes(index, uuidToBytes(uuid));
+        } else {
+            stmt.setString(index, uuid.toString());
+        }
+    }
+
+    private UUID getUuid(ResultSet rs, String column) throws SQLException {
+        return binaryUuids ? bytesToUuid(rs.getBytes(column)) : UUID.fromString(rs.getString(column));
+    }
+
+    private static byte[] uuidToBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID bytesToUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static Object toBinaryUuid(Object value) {
+        if (value == null || value instanceof byte[]) return value;
+        return uuidToBytes(UUID.fromString(value.toString()));
+    }
+
+    private static Object toTextUuid(Object value) {
+        return (value instanceof byte[] bytes) ? bytesToUuid(bytes).toString() : value;
+    }
+
+    private String getCreateTableQuery(String tableName, boolean binaryUuids) {
         boolean isMysql = storageType == StorageType.MYSQL;
+        String uuidType = isMysql ? (binaryUuids ? "BINARY(16)" : "VARCHAR(36)") : (binaryUuids ? "BLOB" : "TEXT");
 
         String lower = tableName.toLowerCase();
 
         if (lower.contains(Constants.Database.Tables.ELYTRA_FLIGHT_TIME)) {
             return isMysql ?
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid VARCHAR(36) PRIMARY KEY, flight_time INT DEFAULT 0);" :
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid TEXT PRIMARY KEY, flight_time INTEGER DEFAULT 0);";
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid " + uuidType + " PRIMARY KEY, flight_time INT DEFAULT 0);" :
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid " + uuidType + " PRIMARY KEY, flight_time INTEGER DEFAULT 0);";
         }
 
         if (lower.contains(Constants.Database.Tables.OWNED_EFFECTS)) {
             return isMysql ?
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (id INT AUTO_INCREMENT PRIMARY KEY, player_uuid VARCHAR(36) NOT NULL, effect_key VARCHAR(255) NOT NULL, is_active BOOLEAN NOT NULL DEFAULT FALSE, owned_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP);" :
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (id INTEGER PRIMARY KEY AUTOINCREMENT, player_uuid TEXT NOT NULL, effect_key TEXT NOT NULL, is_active INTEGER NOT NULL DEFAULT 0, owned_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP);";
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (id INT AUTO_INCREMENT PRIMARY KEY, player_uuid " + uuidType + " NOT NULL, effect_key VARCHAR(255) NOT NULL, is_active BOOLEAN NOT NULL DEFAULT FALSE, owned_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP);" :
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (id INTEGER PRIMARY KEY AUTOINCREMENT, player_uuid " + uuidType + " NOT NULL, effect_key TEXT NOT NULL, is_active INTEGER NOT NULL DEFAULT 0, owned_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP);";
         }
 
         if (lower.contains(Constants.Database.Tables.PLAYER_STATS)) {
             return isMysql ?
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid VARCHAR(36) PRIMARY KEY, total_distance DOUBLE DEFAULT 0, total_time_seconds BIGINT DEFAULT 0, longest_flight DOUBLE DEFAULT 0, boosts_used INT DEFAULT 0, super_boosts_used INT DEFAULT 0, plugin_saves INT DEFAULT 0);" :
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid TEXT PRIMARY KEY, total_distance REAL DEFAULT 0, total_time_seconds INTEGER DEFAULT 0, longest_flight REAL DEFAULT 0, boosts_used INTEGER DEFAULT 0, super_boosts_used INTEGER DEFAULT 0, plugin_saves INTEGER DEFAULT 0);";
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid " + uuidType + " PRIMARY KEY, total_distance DOUBLE DEFAULT 0, total_time_seconds BIGINT DEFAULT 0, longest_flight DOUBLE DEFAULT 0, boosts_used INT DEFAULT 0, super_boosts_used INT DEFAULT 0, plugin_saves INT DEFAULT 0);" :
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (uuid " + uuidType + " PRIMARY KEY, total_distance REAL DEFAULT 0, total_time_seconds INTEGER DEFAULT 0, longest_flight REAL DEFAULT 0, boosts_used INTEGER DEFAULT 0, super_boosts_used INTEGER DEFAULT 0, plugin_saves INTEGER DEFAULT 0);";
         }
 
         if (lower.contains(Constants.Database.Tables.PLAYER_ACHIEVEMENTS)) {
             return isMysql ?
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (player_uuid VARCHAR(36) NOT NULL, achievement_id VARCHAR(255) NOT NULL, unlocked_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (player_uuid, achievement_id));" :
-                    "CREATE TABLE IF NOT EXISTS " + tableName + " (player_uuid TEXT NOT NULL, achievement_id TEXT NOT NULL, unlocked_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (player_uuid, achievement_id));";
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (player_uuid " + uuidType + " NOT NULL, achievement_id VARCHAR(255) NOT NULL, unlocked_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (player_uuid, achievement_id));" :
+                    "CREATE TABLE IF NOT EXISTS " + tableName + " (player_uuid " + uuidType + " NOT NULL, achievement_id TEXT NOT NULL, unlocked_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (player_uuid, achievement_id));";
         }
 
         return null;
@@ -843,10 +2119,38 @@ public class DatabaseHandler {
         return prefix + tableName;
     }
 
+    /**
+     * Records that a player's rows changed, for the next incremental backup. Call after the write succeeded.
+     */
+    private void markChanged(UUID uuid) {
+        if (trackChanges) changedSinceBackup.add(uuid);
+
+        Set<UUID> tracked = migrationChanges;
+        if (tracked != null) tracked.add(uuid);
+    }
+
+    private void markChanged(Collection<UUID> uuids) {
+        if (trackChanges) changedSinceBackup.addAll(uuids);
+
+        Set<UUID> tracked = migrationChanges;
+        if (tracked != null) tracked.addAll(uuids);
+    }
+
     private <T> T withConnection(Function<Connection, T> action) throws SQLException {
+        return withConnection(this.dataSource, action);
+    }
+
+    /**
+     * Like {@link #withConnection}, but uses the read-only pool if there is one. Only for queries that never write.
+     */
+    private <T> T withReadConnection(Function<Connection, T> action) throws SQLException {
+        return withConnection(getReadDataSource(), action);
+    }
+
+    private <T> T withConnection(HikariDataSource source, Function<Connection, T> action) throws SQLException {
         Connection conn = null;
         try {
-            conn = this.dataSource.getConnection();
+            conn = source.getConnection();
             return action.apply(conn);
         } finally {
             if (conn != null) {
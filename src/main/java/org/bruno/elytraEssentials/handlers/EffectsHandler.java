@@ -11,20 +11,39 @@ import org.bruno.elytraEssentials.utils.ElytraEffect;
 import org.bruno.elytraEssentials.utils.ServerVersion;
 import org.bukkit.*;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.enchantments.Enchantment;
-import org.bukkit.util.Vector;
 
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class EffectsHandler {
+    private static final int TRAIL_PARTICLES = 10;
+    private static final int TRAIL_MIN_PARTICLES = 2;
+    // Clients don't render regular particles further away than this
+    private static final double TRAIL_VIEW_DISTANCE = 32;
+    private static final double TRAIL_VIEW_DISTANCE_SQUARED = TRAIL_VIEW_DISTANCE * TRAIL_VIEW_DISTANCE;
+    // Close enough to turn around and see it, so the view direction doesn't matter
+    private static final double TRAIL_NEAR_DISTANCE_SQUARED = 8 * 8;
+    // Cosine of the widest angle between a viewer's look direction and the trail that is still on screen
+    private static final double TRAIL_VIEW_COSINE = 0.3;
+    // Up to this many players around a trail get all of its particles, more than that share fewer
+    private static final int TRAIL_CROWD_SIZE = 5;
+    // As long as a session prefetched during login is kept, an older edit can't be missing from the loaded data
+    private static final long UNCACHED_EDIT_EXPIRY_MS = 30000L;
+
+    // Reused for every viewer's position and for the viewers of each trail, so checking viewers doesn't allocate
+    private static final ThreadLocal<Location> VIEWER_LOCATION = ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
+    private static final ThreadLocal<List<Player>> TRAIL_VIEWERS = ThreadLocal.withInitial(ArrayList::new);
+
     private final ElytraEssentials plugin;
     private final FoliaHelper foliaHelper;
     private final DatabaseHandler databaseHandler;
@@ -37,7 +56,11 @@ public class EffectsHandler {
 
     private final Map<String, ElytraEffect> effectsRegistry = new HashMap<>();
 
-    private final Map<UUID, String> activePlayerEffects = new HashMap<>();
+    // Resolved effects rather than keys, so each trail sample needs a single lookup.
+    private final Map<UUID, ElytraEffect> activePlayerEffects = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<String>> ownedEffectsCache = new ConcurrentHashMap<>();
+    // When the owned effects of players without a cache entry were edited, in case they are between login and join.
+    private final Map<UUID, Long> editedWhileUncached = new ConcurrentHashMap<>();
 
     public EffectsHandler(ElytraEssentials plugin, FileConfiguration fileConfiguration, FoliaHelper foliaHelper, DatabaseHandler databaseHandler, MessagesHelper messagesHelper,
                           ServerVersion serverVersion, Economy economy, TpsHandler tpsHandler, MessagesHandler messagesHandler, Logger logger) {
@@ -57,7 +80,7 @@ public class EffectsHandler {
 
     public boolean handlePurchase(Player player, String effectKey, String effectPermission) {
         try {
-            List<String> ownedEffects = databaseHandler.getOwnedEffectKeys(player.getUniqueId());
+            Collection<String> ownedEffects = getOwnedEffects(player.getUniqueId());
 
             if (PermissionsHelper.hasAllEffectsPermission(player) || player.hasPermission(effectPermission) || ownedEffects.contains(effectKey)) {
                 player.playSound(player.getLocation(), Sound.ENTITY_VILLAGER_NO, 0.8f, 0.8f);
@@ -75,7 +98,7 @@ public class EffectsHandler {
             }
 
             economy.withdrawPlayer(player, effect.getPrice());
-            databaseHandler.addOwnedEffect(player.getUniqueId(), effectKey);
+            grantEffect(player.getUniqueId(), effectKey);
 
             player.playSound(player.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 0.8f, 0.8f);
             String message = messagesHandler.getPurchaseSuccessful().replace("{0}", ColorHelper.parse(effect.getName()));
@@ -139,9 +162,9 @@ public class EffectsHandler {
         ItemStack item = new ItemStack(effect.getDisplayMaterial());
         ItemMeta meta = item.getItemMeta();
 
-        List<String> ownedEffects;
+        Collection<String> ownedEffects;
         try {
-            ownedEffects = databaseHandler.getOwnedEffectKeys(player.getUniqueId());
+            ownedEffects = getOwnedEffects(player.getUniqueId());
         }
         catch (SQLException e) {
             throw new RuntimeException(e);
@@ -242,49 +265,195 @@ public class EffectsHandler {
         return item;
     }
 
+    /**
+     * Spawns the player's trail one block behind them.
+     * <p>
+     * Instead of broadcasting it, the particles are only sent to players close enough to see them and looking
+     * roughly their way. With many players around, each trail uses fewer particles.
+     */
     public void spawnParticleTrail(Player player) {
-        String activeEffectKey = getActiveEffect(player.getUniqueId());
-        if (activeEffectKey == null) return;
-
-        ElytraEffect effect = effectsRegistry.get(activeEffectKey);
+        ElytraEffect effect = activePlayerEffects.get(player.getUniqueId());
         if (effect == null || tpsHandler.isLagProtectionActive()) return;
 
-        Vector direction = player.getLocation().getDirection().normalize();
-        Vector offset = direction.multiply(-1);
-        Vector particleLocation = player.getLocation().toVector().add(offset);
+        // One block behind the player, the direction is already a unit vector.
+        Location trail = player.getLocation();
+        trail.subtract(trail.getDirection());
+
+        // Only the chunks around the trail are searched, which also keeps the lookup within the player's region on Folia.
+        Collection<Entity> nearby = trail.getWorld().getNearbyEntities(trail, TRAIL_VIEW_DISTANCE, TRAIL_VIEW_DISTANCE, TRAIL_VIEW_DISTANCE,
+                entity -> entity instanceof Player);
+        Location viewerLocation = VIEWER_LOCATION.get();
+        List<Player> viewers = TRAIL_VIEWERS.get();
+
+        // Counts the crowd and picks the viewers in the same pass
+        int nearbyPlayers = 0;
+        for (Entity entity : nearby) {
+            Player viewer = (Player) entity;
+            if (viewer.getLocation(viewerLocation).distanceSquared(trail) > TRAIL_VIEW_DISTANCE_SQUARED) continue;
+
+            nearbyPlayers++;
+            if (viewer == player || (viewer.canSee(player) && canSeeTrail(viewer, viewerLocation, trail))) {
+                viewers.add(viewer);
+            }
+        }
+        int count = Math.max(TRAIL_MIN_PARTICLES, TRAIL_PARTICLES * TRAIL_CROWD_SIZE / Math.max(TRAIL_CROWD_SIZE, nearbyPlayers));
 
-        player.getWorld().spawnParticle(effect.getParticle(), particleLocation.toLocation(player.getWorld()), 10, 0.1, 0.1, 0.1, 0.05);
+        try {
+            for (Player viewer : viewers) {
+                viewer.spawnParticle(effect.getParticle(), trail, count, 0.1, 0.1, 0.1, 0.05);
+            }
+        } finally {
+            viewers.clear();
+        }
+    }
+
+    /**
+     * Checks if the trail is within the viewer's render distance and roughly in front of them.
+     *
+     * @param viewerLocation the viewer's current location.
+     */
+    private boolean canSeeTrail(Player viewer, Location viewerLocation, Location trail) {
+        double dx = trail.getX() - viewerLocation.getX();
+        double dy = trail.getY() - (viewerLocation.getY() + viewer.getEyeHeight());
+        double dz = trail.getZ() - viewerLocation.getZ();
+        double distanceSquared = dx * dx + dy * dy + dz * dz;
+
+        if (distanceSquared > TRAIL_VIEW_DISTANCE_SQUARED) return false;
+        if (distanceSquared <= TRAIL_NEAR_DISTANCE_SQUARED) return true;
+
+        // Same as Location#getDirection, without allocating a vector
+        double yaw = Math.toRadians(viewerLocation.getYaw());
+        double pitch = Math.toRadians(viewerLocation.getPitch());
+        double lookX = -Math.sin(yaw) * Math.cos(pitch);
+        double lookY = -Math.sin(pitch);
+        double lookZ = Math.cos(yaw) * Math.cos(pitch);
+
+        double dot = dx * lookX + dy * lookY + dz * lookZ;
+        return dot >= TRAIL_VIEW_COSINE * Math.sqrt(distanceSquared);
     }
 
     public String getActiveEffect(UUID playerUuid) {
-        return activePlayerEffects.get(playerUuid);
+        ElytraEffect effect = activePlayerEffects.get(playerUuid);
+        return (effect != null) ? effect.getKey() : null;
     }
 
+    /**
+     * Sets a player's active effect. Keys that aren't registered on this server version clear it.
+     */
     public void setActiveEffect(UUID playerUuid, String effectKey) {
-        if (effectKey == null) {
+        ElytraEffect effect = (effectKey != null) ? effectsRegistry.get(effectKey) : null;
+        if (effect == null) {
             activePlayerEffects.remove(playerUuid);
         } else {
-            activePlayerEffects.put(playerUuid, effectKey);
+            activePlayerEffects.put(playerUuid, effect);
         }
     }
 
-    public void loadPlayerActiveEffect(Player player) {
+    /**
+     * Receives a player's active and owned effects from the session loader.
+     */
+    public void applyLoadedEffects(UUID playerUuid, String activeEffect, List<String> ownedEffects) {
+        setActiveEffect(playerUuid, activeEffect);
+
+        Set<String> ownedSet = ConcurrentHashMap.newKeySet();
+        ownedSet.addAll(ownedEffects);
+        ownedEffectsCache.put(playerUuid, ownedSet);
+
+        // The loaded data may have been read before the edit, so read it again.
+        if (editedWhileUncached.remove(playerUuid) != null) {
+            refreshOwnedEffects(playerUuid);
+        }
+    }
+
+    /**
+     * Returns the effects a player owns, from the session cache when they are online and from the database otherwise.
+     */
+    public Set<String> getOwnedEffects(UUID playerUuid) throws SQLException {
+        Set<String> cachedEffects = getCachedOwnedEffects(playerUuid);
+        return (cachedEffects != null) ? cachedEffects : new HashSet<>(databaseHandler.getOwnedEffectKeys(playerUuid));
+    }
+
+    /**
+     * @return A read-only view of the cached owned effects, or {@code null} if the player's session isn't loaded.
+     */
+    public Set<String> getCachedOwnedEffects(UUID playerUuid) {
+        Set<String> cachedEffects = ownedEffectsCache.get(playerUuid);
+        return (cachedEffects != null) ? Collections.unmodifiableSet(cachedEffects) : null;
+    }
+
+    /**
+     * Gives a player an effect. The database is written first, the cache only once that succeeded.
+     *
+     * @return false if the player already owns the effect.
+     */
+    public boolean grantEffect(UUID playerUuid, String effectKey) throws SQLException {
+        if (getOwnedEffects(playerUuid).contains(effectKey)) return false;
+
+        databaseHandler.addOwnedEffect(playerUuid, effectKey);
+        setEffectOwned(playerUuid, effectKey, true);
+        return true;
+    }
+
+    /**
+     * Takes an effect away from a player, deactivating it if it was active.
+     *
+     * @return false if the player doesn't own the effect.
+     */
+    public boolean revokeEffect(UUID playerUuid, String effectKey) throws SQLException {
+        if (!getOwnedEffects(playerUuid).contains(effectKey)) return false;
+
+        databaseHandler.removeOwnedEffect(playerUuid, effectKey);
+        setEffectOwned(playerUuid, effectKey, false);
+        if (effectKey.equals(getActiveEffect(playerUuid))) {
+            setActiveEffect(playerUuid, null);
+        }
+        return true;
+    }
+
+    public void clearPlayerEffects(Player player) {
+        activePlayerEffects.remove(player.getUniqueId());
+        ownedEffectsCache.remove(player.getUniqueId());
+        editedWhileUncached.remove(player.getUniqueId());
+    }
+
+    /**
+     * Keeps the session cache in line after an effect was granted or taken away in the database.
+     */
+    private void setEffectOwned(UUID playerUuid, String effectKey, boolean owned) {
+        Set<String> cachedEffects = ownedEffectsCache.get(playerUuid);
+        if (cachedEffects == null) {
+            // Nothing to update, but a session that is loading right now may already hold the old data.
+            long now = System.currentTimeMillis();
+            editedWhileUncached.values().removeIf(editedAt -> now - editedAt > UNCACHED_EDIT_EXPIRY_MS); // Players that never joined
+            editedWhileUncached.put(playerUuid, now);
+            return;
+        }
+
+        if (owned) {
+            cachedEffects.add(effectKey);
+        } else {
+            cachedEffects.remove(effectKey);
+        }
+    }
+
+    /**
+     * Reloads a cached player's owned effects from the database in the background.
+     */
+    private void refreshOwnedEffects(UUID playerUuid) {
         foliaHelper.runAsyncTask(() -> {
             try {
-                String activeEffect = databaseHandler.getPlayerActiveEffect(player.getUniqueId());
-                if (activeEffect != null) {
-                    setActiveEffect(player.getUniqueId(), activeEffect);
-                }
+                List<String> storedEffects = databaseHandler.getOwnedEffectKeys(playerUuid);
+                ownedEffectsCache.computeIfPresent(playerUuid, (key, cachedEffects) -> {
+                    cachedEffects.retainAll(storedEffects);
+                    cachedEffects.addAll(storedEffects);
+                    return cachedEffects;
+                });
             } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Could not load active effect for " + player.getName(), e);
+                logger.log(Level.WARNING, "Could not refresh the owned effects of " + playerUuid + ".", e);
             }
         });
     }
 
-    public void clearPlayerActiveEffect(Player player) {
-        activePlayerEffects.remove(player.getUniqueId());
-    }
-
     private void loadEffectsConfig(FileConfiguration fileConfiguration) {
         for (String key : fileConfiguration.getConfigurationSection("shop").getKeys(false)) {
 
@@ -3,17 +3,17 @@ package org.bruno.elytraEssentials.handlers;
 import org.bruno.elytraEssentials.helpers.*;
 import org.bruno.elytraEssentials.utils.CancellableTask;
 import org.bruno.elytraEssentials.utils.Constants;
+import org.bruno.elytraEssentials.utils.FlightSession;
+import org.bruno.elytraEssentials.utils.MessageTemplate;
 import org.bruno.elytraEssentials.utils.PlayerStats;
+import org.bruno.elytraEssentials.utils.TrackedBossBar;
 import org.bukkit.*;
 import org.bukkit.boss.BarColor;
-import org.bukkit.boss.BarStyle;
-import org.bukkit.boss.BossBar;
 import org.bukkit.command.CommandSender;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.entity.Player;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.PlayerInventory;
 import org.bukkit.inventory.meta.Damageable;
@@ -31,44 +31,46 @@ public class FlightHandler {
     private static final double MAX_FLIGHT_SPEED = 200.0;
     private static final long DEPLOY_COOLDOWN_MS = 5000;
     private static final int DEPLOY_MIN_FALL_DISTANCE = 5;
+    private static final long MILLIS_PER_TICK = 50;
+    private static final double MAX_BLOCKS_PER_TICK = Math.sqrt(300); // Vanilla rejects faster gliding moves
+    private static final long SPEEDOMETER_KEEP_ALIVE_MS = 2000; // About 40 ticks, before the action bar fades out
+    private static final String[] SPEED_COLORS = { "§a", "§6", "§c", "§4" };
 
     private final Logger logger;
     private final ConfigHandler configHandler;
     private final EffectsHandler effectsHandler;
-    private final BoostHandler boostHandler;
     private final FoliaHelper foliaHelper;
     private final MessagesHelper messagesHelper;
     private final DatabaseHandler databaseHandler;
+    private final PersistenceHandler persistenceHandler;
     private final StatsHandler statsHandler;
     private final MessagesHandler messagesHandler;
     private final UpgradeHandler upgradeHandler;
     private final ArmoredElytraHelper armoredElytraHelper;
+    private final BossBarHandler bossBarHandler;
 
-    private final Map<UUID, Integer> flightTimeData = new ConcurrentHashMap<>();
-    private final Map<UUID, BossBar> flightBossBars = new ConcurrentHashMap<>();
-    private final Map<UUID, Double> currentFlightDistances = new ConcurrentHashMap<>();
-    private final Set<UUID> noFallDamagePlayers = ConcurrentHashMap.newKeySet(); // Thread-safe set
-    private final Map<UUID, Integer> initialFlightTime = new ConcurrentHashMap<>();
-    private final Map<UUID, Long> deployCooldowns = new ConcurrentHashMap<>();
-    private final Map<UUID, CancellableTask> activeFlightTasks = new HashMap<>();
+    // All per-player flight and boost state, shared with BoostHandler.
+    private final Map<UUID, FlightSession> sessions = new ConcurrentHashMap<>();
 
     private CancellableTask globalFlightTask;
     private final Random random = new Random();
 
-    public FlightHandler(Logger logger, ConfigHandler configHandler, EffectsHandler effectsHandler, BoostHandler boostHandler, FoliaHelper foliaHelper,
-                         MessagesHelper messagesHelper, DatabaseHandler databaseHandler, StatsHandler statsHandler, MessagesHandler messagesHandler,
-                         UpgradeHandler upgradeHandler, ArmoredElytraHelper armoredElytraHelper) {
+    public FlightHandler(Logger logger, ConfigHandler configHandler, EffectsHandler effectsHandler, FoliaHelper foliaHelper,
+                         MessagesHelper messagesHelper, DatabaseHandler databaseHandler, PersistenceHandler persistenceHandler, StatsHandler statsHandler,
+                         MessagesHandler messagesHandler, UpgradeHandler upgradeHandler, ArmoredElytraHelper armoredElytraHelper,
+                         BossBarHandler bossBarHandler) {
         this.logger = logger;
         this.configHandler = configHandler;
         this.effectsHandler = effectsHandler;
-        this.boostHandler = boostHandler;
         this.foliaHelper = foliaHelper;
         this.messagesHelper = messagesHelper;
         this.databaseHandler = databaseHandler;
+        this.persistenceHandler = persistenceHandler;
         this.statsHandler = statsHandler;
         this.messagesHandler = messagesHandler;
         this.upgradeHandler = upgradeHandler;
         this.armoredElytraHelper = armoredElytraHelper;
+        this.bossBarHandler = bossBarHandler;
     }
 
     public void start() {
@@ -83,59 +85,120 @@ public class FlightHandler {
     }
 
     public void shutdown() {
-        if (foliaHelper.isFolia()) {
-            activeFlightTasks.values().forEach(CancellableTask::cancel);
-            activeFlightTasks.clear();
-        } else {
-            if (globalFlightTask != null) {
-                globalFlightTask.cancel();
-            }
+        if (!foliaHelper.isFolia() && globalFlightTask != null) {
+            globalFlightTask.cancel();
         }
 
         // Now, perform the common cleanup for both platforms
-        flightBossBars.values().forEach(bossBar -> bossBar.setVisible(false));
-        flightBossBars.clear();
+        for (FlightSession session : sessions.values()) {
+            CancellableTask task = session.getFlightTask();
+            if (task != null) {
+                task.cancel();
+                session.setFlightTask(null);
+            }
+
+            TrackedBossBar bossBar = session.getFlightBossBar();
+            if (bossBar != null) {
+                bossBar.hide();
+                session.setFlightBossBar(null);
+            }
+        }
         saveAllFlightTimes();
     }
 
-    public void loadPlayerData(Player player) {
+    /**
+     * @return the player's session, creating it if needed.
+     */
+    public FlightSession getSession(UUID playerId) {
+        return sessions.computeIfAbsent(playerId, FlightSession::new);
+    }
+
+    /**
+     * @return a read-only view of every loaded session.
+     */
+    public Collection<FlightSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    /**
+     * @return the player's session, or null if they have none (e.g. they already left).
+     */
+    public FlightSession getSessionIfPresent(UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    /**
+     * Receives a player's stored flight time from the session loader.
+     * A value that is already cached (e.g. during a reload) is newer and is kept.
+     */
+    public void applyLoadedFlightTime(UUID playerId, int storedTime) {
         if (!configHandler.getIsTimeLimitEnabled()) return;
-        try {
-            int storedTime = databaseHandler.getPlayerFlightTime(player.getUniqueId());
-            flightTimeData.put(player.getUniqueId(), storedTime);
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Failed to load flight time for " + player.getName(), e);
+        FlightSession session = getSession(playerId);
+        if (!session.isFlightTimeLoaded()) {
+            session.setFlightTime(storedTime);
         }
     }
 
     public void unloadPlayerData(Player player) {
-        savePlayerFlightTime(player.getUniqueId());
+        saveFlightTimeIfDirty(player.getUniqueId());
 
         // Clean up all player data to prevent memory leaks
-        flightTimeData.remove(player.getUniqueId());
-        flightBossBars.remove(player.getUniqueId());
-        currentFlightDistances.remove(player.getUniqueId());
-        noFallDamagePlayers.remove(player.getUniqueId());
-        initialFlightTime.remove(player.getUniqueId());
-        deployCooldowns.remove(player.getUniqueId());
+        FlightSession session = sessions.remove(player.getUniqueId());
+        if (session != null) {
+            session.close();
+        }
+        bossBarHandler.removePlayer(player);
+    }
 
-        if (foliaHelper.isFolia()) {
-            stopTrackingPlayer(player);
+    /**
+     * Forgets a player's cached flight time without saving it, e.g. before it is replaced by an import.
+     */
+    public void discardFlightTime(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        if (session != null) {
+            session.unloadFlightTime();
         }
     }
 
     public void saveAllFlightTimes() {
-        for (UUID playerId : new HashSet<>(flightTimeData.keySet())) {
-            savePlayerFlightTime(playerId);
+        for (FlightSession session : sessions.values()) {
+            saveFlightTimeIfDirty(session);
         }
     }
 
-    public boolean isProtectedFromFallDamage(UUID playerId) { return noFallDamagePlayers.contains(playerId); }
-    public void removeFallProtection(UUID playerId) { noFallDamagePlayers.remove(playerId); }
+    /**
+     * Queues a player's flight time for saving if it was consumed since the last save.
+     *
+     * @return true if a save was queued.
+     */
+    public boolean saveFlightTimeIfDirty(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        return session != null && saveFlightTimeIfDirty(session);
+    }
+
+    public boolean isProtectedFromFallDamage(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        return session != null && session.isFallProtected();
+    }
+
+    public void removeFallProtection(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        if (session != null) session.removeFallProtection();
+    }
+
     public boolean isKineticProtectionEnabled() { return configHandler.getIsKineticEnergyProtectionEnabled(); }
 
     public int getCurrentFlightTime(UUID playerId) {
-        return flightTimeData.getOrDefault(playerId, 0);
+        FlightSession session = sessions.get(playerId);
+        return (session != null) ? session.getFlightTime() : 0;
+    }
+
+    /**
+     * @return {@code true} if the player's flight time has been loaded into the live cache.
+     */
+    public boolean hasLoadedFlightTime(UUID playerId) {
+        FlightSession session = sessions.get(playerId);
+        return session != null && session.isFlightTimeLoaded();
     }
 
     /**
@@ -144,9 +207,9 @@ public class FlightHandler {
      * @return {@code true} if the glide event should be cancelled, {@code false} otherwise.
      */
     public boolean onGlideStartAttempt(Player player) {
+        FlightSession session = getSession(player.getUniqueId());
         if (configHandler.getIsTimeLimitEnabled() && !PermissionsHelper.playerBypassTimeLimit(player)) {
-            int currentFlightTime = flightTimeData.getOrDefault(player.getUniqueId(), 0);
-            if (currentFlightTime <= 0) {
+            if (session.getFlightTime() <= 0) {
                 messagesHelper.sendActionBarMessage(player, messagesHandler.getElytraFlightTimeExpired());
                 return true;
             }
@@ -160,11 +223,11 @@ public class FlightHandler {
         }
 
         // If all checks pass, proceed with normal glide setup
-        currentFlightDistances.put(player.getUniqueId(), 0.0);
+        session.setFlightDistance(0);
         if (configHandler.getIsTimeLimitEnabled()) {
-            createFlightTimeBossBar(player);
+            createFlightTimeBossBar(player, session);
             if (foliaHelper.isFolia()) {
-                startTrackingPlayer(player);
+                startTrackingPlayer(player, session);
             }
         }
 
@@ -172,8 +235,11 @@ public class FlightHandler {
     }
 
     public void handleGlideEnd(Player player) {
+        FlightSession session = sessions.get(player.getUniqueId());
+        if (session == null) return; // Already unloaded
+
         PlayerStats stats = statsHandler.getStats(player);
-        double flightDistance = currentFlightDistances.getOrDefault(player.getUniqueId(), 0.0);
+        double flightDistance = session.getFlightDistance();
 
         if (flightDistance > 0 && flightDistance > stats.getLongestFlight()) {
             stats.setLongestFlight(flightDistance);
@@ -182,41 +248,43 @@ public class FlightHandler {
             player.playSound(player.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.2f);
         }
 
-        currentFlightDistances.remove(player.getUniqueId());
-        removeBossBar(player);
+        session.setFlightDistance(0);
+        session.resetSpeedometer();
+        removeBossBar(session);
 
         if (foliaHelper.isFolia())
-            stopTrackingPlayer(player);
+            stopTrackingPlayer(session);
     }
 
-    public void handlePlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
-        handleEmergencyDeploy(player);
+    /**
+     * Runs the movement logic for a player who moved since their last sample. Called by FlightTickHandler.
+     */
+    public void processMovement(Player player, FlightSession session) {
+        Location location = player.getLocation(session.getSampleLocation());
+        double distanceMoved = session.advanceSample(location, MAX_BLOCKS_PER_TICK * Math.max(1, configHandler.getFlightSampleInterval()));
+        handleEmergencyDeploy(player, session);
 
         if (!player.isGliding()) {
-            if (flightBossBars.containsKey(player.getUniqueId()))
-                removeBossBar(player);
+            if (session.getFlightBossBar() != null)
+                removeBossBar(session);
             return;
         }
 
-        handleLiquidGlide(player);
-        handleSpeedometer(player);
-        handleDurabilityProtection(player);
-        handleDistanceTracking(player, event);
+        handleLiquidGlide(player, location);
+        handleSpeedometer(player, session);
+        handleDurabilityProtection(player, session);
+        handleDistanceTracking(player, session, distanceMoved);
 
         effectsHandler.spawnParticleTrail(player);
     }
 
     public void addFlightTime(UUID playerId, int secondsToAdd, CommandSender feedbackRecipient) {
         try {
-            int currentFlightTime;
             Player target = Bukkit.getPlayer(playerId);
 
-            if (target != null && target.isOnline()) {
-                currentFlightTime = this.flightTimeData.getOrDefault(playerId, 0);
-            } else {
-                currentFlightTime = databaseHandler.getPlayerFlightTime(playerId);
-            }
+            // Players whose data is still loading are treated like offline players
+            FlightSession cached = sessions.get(playerId);
+            int currentFlightTime = (cached != null && cached.isFlightTimeLoaded()) ? cached.getFlightTime() : getStoredFlightTime(playerId);
 
             int maxTimeLimit = configHandler.getMaxTimeLimit();
 
@@ -237,15 +305,18 @@ public class FlightHandler {
                 return;
             }
 
-            databaseHandler.setPlayerFlightTime(playerId, newFlightTime);
+            persistenceHandler.queueFlightTime(playerId, newFlightTime);
 
             // Update the live cache and notify the player if they are online
             if (target != null && target.isOnline()) {
                 foliaHelper.runTaskOnMainThread(() -> {
-                    flightTimeData.put(playerId, newFlightTime);
+                    FlightSession session = sessions.get(playerId);
+                    if (session != null && session.isFlightTimeLoaded()) {
+                        session.changeFlightTime(newFlightTime);
 
-                    // we add the time to this as well to keep the progress bar ratio correct.
-                    initialFlightTime.computeIfPresent(playerId, (key, currentInitial) -> currentInitial + finalAmount);
+                        // we add the time to this as well to keep the progress bar ratio correct.
+                        session.setInitialFlightTime(session.getInitialFlightTime() + finalAmount);
+                    }
 
                     String message = messagesHandler.getElytraFlightTimeAdded().replace("{0}", TimeHelper.formatFlightTime(finalAmount));
                     messagesHelper.sendPlayerMessage(target, message);
@@ -258,18 +329,20 @@ public class FlightHandler {
 
     public void removeFlightTime(UUID playerId, int secondsToRemove, CommandSender sender) {
         try {
-            int currentFlightTime = databaseHandler.getPlayerFlightTime(playerId);
+            Player target = Bukkit.getPlayer(playerId);
+            FlightSession cached = sessions.get(playerId);
+            int currentFlightTime = (cached != null && cached.isFlightTimeLoaded()) ? cached.getFlightTime() : getStoredFlightTime(playerId);
+
             // Ensure flight time doesn't go below zero
             int newFlightTime = Math.max(0, currentFlightTime - secondsToRemove);
             int actualAmountRemoved = currentFlightTime - newFlightTime;
 
-            databaseHandler.setPlayerFlightTime(playerId, newFlightTime);
+            persistenceHandler.queueFlightTime(playerId, newFlightTime);
 
             // Update the live cache and notify the player if they are online
-            Player target = Bukkit.getPlayer(playerId);
             if (target != null && target.isOnline()) {
                 foliaHelper.runTaskOnMainThread(() -> {
-                    flightTimeData.put(playerId, newFlightTime);
+                    updateLoadedFlightTime(playerId, newFlightTime);
                     String message = messagesHandler.getElytraFlightTimeRemoved().replace("{0}", TimeHelper.formatFlightTime(actualAmountRemoved));
                     messagesHelper.sendPlayerMessage(target, message);
                 });
@@ -285,27 +358,23 @@ public class FlightHandler {
     }
 
     public void setFlightTime(UUID playerId, int secondsToSet, CommandSender sender) {
-        try {
-            int maxTimeLimit = configHandler.getMaxTimeLimit();
-            // Cap the amount at the max limit if one is set
-            int finalAmount = (maxTimeLimit > 0) ? Math.min(secondsToSet, maxTimeLimit) : secondsToSet;
+        int maxTimeLimit = configHandler.getMaxTimeLimit();
+        // Cap the amount at the max limit if one is set
+        int finalAmount = (maxTimeLimit > 0) ? Math.min(secondsToSet, maxTimeLimit) : secondsToSet;
 
-            databaseHandler.setPlayerFlightTime(playerId, finalAmount);
+        persistenceHandler.queueFlightTime(playerId, finalAmount);
 
-            // Update the live cache and notify the player if they are online
-            Player target = Bukkit.getPlayer(playerId);
-            if (target != null && target.isOnline()) {
-                foliaHelper.runTaskOnMainThread(() -> {
-                    flightTimeData.put(playerId, finalAmount);
-                    String message = messagesHandler.getElytraFlightTimeSet().replace("{0}", TimeHelper.formatFlightTime(finalAmount));
-                    messagesHelper.sendPlayerMessage(target, message);
-                });
-            }
-            foliaHelper.runTaskOnMainThread(() ->
-                    messagesHelper.sendCommandSenderMessage(sender, "&aSet " + Bukkit.getOfflinePlayer(playerId).getName() + "'s flight time to " + TimeHelper.formatFlightTime(finalAmount)));
-        } catch (SQLException e) {
-            handleSqlException(sender, "set flight time", playerId, e);
+        // Update the live cache and notify the player if they are online
+        Player target = Bukkit.getPlayer(playerId);
+        if (target != null && target.isOnline()) {
+            foliaHelper.runTaskOnMainThread(() -> {
+                updateLoadedFlightTime(playerId, finalAmount);
+                String message = messagesHandler.getElytraFlightTimeSet().replace("{0}", TimeHelper.formatFlightTime(finalAmount));
+                messagesHelper.sendPlayerMessage(target, message);
+            });
         }
+        foliaHelper.runTaskOnMainThread(() ->
+                messagesHelper.sendCommandSenderMessage(sender, "&aSet " + Bukkit.getOfflinePlayer(playerId).getName() + "'s flight time to " + TimeHelper.formatFlightTime(finalAmount)));
     }
 
     /**
@@ -353,34 +422,44 @@ public class FlightHandler {
      * @param player The player to protect.
      */
     public void protectPlayerFromFall(Player player) {
-        noFallDamagePlayers.add(player.getUniqueId());
-        foliaHelper.runTaskLater(player, () -> noFallDamagePlayers.remove(player.getUniqueId()), 60L); // 3 seconds of protection
+        FlightSession session = getSession(player.getUniqueId());
+        session.protectFromFall();
+        foliaHelper.runTaskLater(player, session::removeFallProtection, 60L); // 3 seconds of protection
     }
 
     public void clearFlightTime(UUID playerId, CommandSender sender) {
-        try {
-            databaseHandler.setPlayerFlightTime(playerId, 0);
-
-            OfflinePlayer target = Bukkit.getOfflinePlayer(playerId);
-
-            // Update the live cache and notify the player if they are online.
-            if (target.isOnline()) {
-                Player onlineTarget = target.getPlayer();
-                if (onlineTarget != null) {
-                    foliaHelper.runTaskOnMainThread(() -> {
-                        flightTimeData.put(playerId, 0);
-                        initialFlightTime.put(playerId, 0);
-                        messagesHelper.sendPlayerMessage(onlineTarget, messagesHandler.getElytraFlightTimeCleared());
-                    });
-                }
+        persistenceHandler.queueFlightTime(playerId, 0);
+
+        OfflinePlayer target = Bukkit.getOfflinePlayer(playerId);
+
+        // Update the live cache and notify the player if they are online.
+        if (target.isOnline()) {
+            Player onlineTarget = target.getPlayer();
+            if (onlineTarget != null) {
+                foliaHelper.runTaskOnMainThread(() -> {
+                    FlightSession session = sessions.get(playerId);
+                    if (session != null) {
+                        if (session.isFlightTimeLoaded()) session.changeFlightTime(0);
+                        session.setInitialFlightTime(0);
+                    }
+                    messagesHelper.sendPlayerMessage(onlineTarget, messagesHandler.getElytraFlightTimeCleared());
+                });
             }
+        }
 
-            // Send a confirmation message back to the command sender.
-            foliaHelper.runTaskOnMainThread(() ->
-                    messagesHelper.sendCommandSenderMessage(sender, "&aCleared all flight time for " + target.getName() + "."));
+        // Send a confirmation message back to the command sender.
+        foliaHelper.runTaskOnMainThread(() ->
+                messagesHelper.sendCommandSenderMessage(sender, "&aCleared all flight time for " + target.getName() + "."));
+    }
 
-        } catch (SQLException e) {
-            handleSqlException(sender, "clear flight time", playerId, e);
+    /**
+     * Replaces a player's cached flight time, unless it is not loaded (yet). It is saved again with the session,
+     * in case the session saved its old value after the new one was queued.
+     */
+    private void updateLoadedFlightTime(UUID playerId, int flightTime) {
+        FlightSession session = sessions.get(playerId);
+        if (session != null && session.isFlightTimeLoaded()) {
+            session.changeFlightTime(flightTime);
         }
     }
 
@@ -394,20 +473,21 @@ public class FlightHandler {
     private void handleGlobalFlightTimeCountdown() {
         for (Player player : Bukkit.getOnlinePlayers()) {
             if (player.isGliding() && !PermissionsHelper.playerBypassTimeLimit(player)) {
-                if (!flightBossBars.containsKey(player.getUniqueId()))
-                    createFlightTimeBossBar(player);
+                FlightSession session = getSession(player.getUniqueId());
+                if (session.getFlightBossBar() == null)
+                    createFlightTimeBossBar(player, session);
 
-                updatePlayerFlight(player);
+                updatePlayerFlight(player, session);
             }
         }
     }
 
-    private void updatePlayerFlight(Player player) {
+    private void updatePlayerFlight(Player player, FlightSession session) {
         if (!player.isOnline()) {
             if (foliaHelper.isFolia()) {
-                stopTrackingPlayer(player);
+                stopTrackingPlayer(session);
             }
-            removeBossBar(player);
+            removeBossBar(session);
             return;
         }
 
@@ -415,42 +495,43 @@ public class FlightHandler {
         if (armoredElytraHelper.isArmoredElytra(chestplate)){
             double efficiencyChance = upgradeHandler.getFlightEfficiencyChance(chestplate);
             if (efficiencyChance > 0 && random.nextDouble() * 100 < efficiencyChance) {
-                updateBossBar(player, flightTimeData.getOrDefault(player.getUniqueId(), 0));
+                updateBossBar(session, session.getFlightTime());
                 return; // Skip time consumption for this tick
             }
         }
 
-        int currentFlightTime = flightTimeData.getOrDefault(player.getUniqueId(), 0);
+        if (!session.isFlightTimeLoaded()) return; // Being reloaded, e.g. after a database import
+        int currentFlightTime = session.getFlightTime();
         if (currentFlightTime <= 0) {
             player.setGliding(false);
-            noFallDamagePlayers.add(player.getUniqueId());
-            foliaHelper.runTaskLater(player, () -> noFallDamagePlayers.remove(player.getUniqueId()), 40L);
+            session.protectFromFall();
+            foliaHelper.runTaskLater(player, session::removeFallProtection, 40L);
             messagesHelper.sendActionBarMessage(player, messagesHandler.getElytraFlightTimeExpired());
 
             if (!foliaHelper.isFolia())
-                removeBossBar(player);
+                removeBossBar(session);
 
             return;
         }
 
-        flightTimeData.put(player.getUniqueId(), currentFlightTime - 1);
-        updateBossBar(player, currentFlightTime);
+        session.consumeFlightSecond();
+        updateBossBar(session, currentFlightTime);
     }
 
-    private void startTrackingPlayer(Player player) {
-        if (activeFlightTasks.containsKey(player.getUniqueId()) || PermissionsHelper.playerBypassTimeLimit(player))
+    private void startTrackingPlayer(Player player, FlightSession session) {
+        if (session.getFlightTask() != null || PermissionsHelper.playerBypassTimeLimit(player))
             return;
 
-        CancellableTask task = foliaHelper.runTaskTimerForEntity(player, () -> updatePlayerFlight(player), 0L, 20L);
-        activeFlightTasks.put(player.getUniqueId(), task);
+        session.setFlightTask(foliaHelper.runTaskTimerForEntity(player, () -> updatePlayerFlight(player, session), 0L, 20L));
     }
 
-    private void stopTrackingPlayer(Player player) {
-        CancellableTask task = activeFlightTasks.remove(player.getUniqueId());
+    private void stopTrackingPlayer(FlightSession session) {
+        CancellableTask task = session.getFlightTask();
+        session.setFlightTask(null);
         if (task != null) task.cancel();
     }
 
-    private void handleSpeedometer(Player player) {
+    private void handleSpeedometer(Player player, FlightSession session) {
         Vector velocity = player.getVelocity();
         double realSpeed = velocity.length() * TICKS_IN_ONE_SECOND * METERS_PER_SECOND_TO_KMH;
         double finalSpeed = realSpeed;
@@ -472,28 +553,50 @@ public class FlightHandler {
             player.setVelocity(velocity.normalize().multiply(MAX_FLIGHT_SPEED / METERS_PER_SECOND_TO_KMH / TICKS_IN_ONE_SECOND));
         }
 
-        // Determine which message format to use
-        String format;
-        if (boostHandler.isSuperBoostActive(player.getUniqueId())) {
-            format = messagesHandler.getSpeedoMeterSuperBoost();
-        } else if (boostHandler.isBoostActive(player.getUniqueId())) {
-            format = messagesHandler.getSpeedoMeterBoost();
-        } else {
-            format = messagesHandler.getSpeedoMeterNormal();
-        }
+        updateSpeedometer(player, session, finalSpeed);
+    }
+
+    /**
+     * Sends the speedometer at most once per configured interval, and only if what it shows changed.
+     * An unchanged reading is still re-sent every couple of seconds so that it doesn't fade out.
+     */
+    private void updateSpeedometer(Player player, FlightSession session, double speed) {
+        long now = System.currentTimeMillis();
+        long sinceLastSent = now - session.getSpeedometerSentAt();
+        if (sinceLastSent < configHandler.getSpeedometerInterval() * MILLIS_PER_TICK) return;
+
+        int mode = session.isSuperBoostMessageActive(now) ? 2 : session.isBoostMessageActive(now) ? 1 : 0;
+        int colorBand = getSpeedColorBand(speed);
+        int tenths = (int) Math.round(speed * 10);
+
+        // Everything the player can see, packed into one value to compare against the last one sent
+        long shown = ((long) tenths << 4) | ((long) colorBand << 2) | mode;
+        if (shown == session.getSpeedometerShown() && sinceLastSent < SPEEDOMETER_KEEP_ALIVE_MS) return;
+
+        MessageTemplate template = switch (mode) {
+            case 2 -> messagesHandler.getSpeedoMeterSuperBoost();
+            case 1 -> messagesHandler.getSpeedoMeterBoost();
+            default -> messagesHandler.getSpeedoMeterNormal();
+        };
+        String message = template.render((out, slot) -> {
+            if (slot == 0) {
+                out.append(SPEED_COLORS[colorBand]);
+            } else if (slot == 1) {
+                out.append(tenths / 10).append('.').append(tenths % 10);
+            }
+        });
 
-        String color = calculateSpeedColor(finalSpeed);
-        String message = format.replace("{0}", color).replace("{1}", String.format("%.1f", finalSpeed));
-        messagesHelper.sendActionBarMessage(player, message);
+        messagesHelper.sendColoredActionBarMessage(player, message);
+        session.setSpeedometerShown(shown, now);
     }
 
-    private void handleDurabilityProtection(Player player) {
+    private void handleDurabilityProtection(Player player, FlightSession session) {
         if (!configHandler.getIsElytraBreakProtectionEnabled()) return;
 
         ItemStack elytra = player.getInventory().getChestplate();
         if (elytra != null && elytra.getType() == Material.ELYTRA && elytra.getItemMeta() instanceof Damageable damageable) {
             if (damageable.getDamage() >= elytra.getType().getMaxDurability() - 1) {
-                if (noFallDamagePlayers.add(player.getUniqueId())) {
+                if (session.protectFromFall()) {
                     player.playSound(player.getLocation(), Sound.ITEM_TOTEM_USE, 0.8f, 0.8f);
                     messagesHelper.sendActionBarMessage(player, messagesHandler.getFallProtectionEnabled());
                 }
@@ -501,22 +604,20 @@ public class FlightHandler {
         }
     }
 
-    private void handleDistanceTracking(Player player, PlayerMoveEvent event) {
-        if (event.getFrom().distanceSquared(event.getTo()) == 0) return; // Ignore tiny movements
+    private void handleDistanceTracking(Player player, FlightSession session, double distanceMoved) {
+        if (distanceMoved == 0) return; // Ignore tiny movements
 
-        PlayerStats stats = statsHandler.getStats(player);
-        double distanceMoved = event.getFrom().distance(event.getTo());
-
-        stats.addDistance(distanceMoved);
-        currentFlightDistances.compute(player.getUniqueId(), (uuid, dist) -> (dist == null ? 0 : dist) + distanceMoved);
+        statsHandler.getStats(player).addDistance(distanceMoved);
+        session.addFlightDistance(distanceMoved);
     }
 
-    private void handleEmergencyDeploy(Player player) {
-        if (!configHandler.getIsEmergencyDeployEnabled() || player.isInsideVehicle() || player.getVelocity().getY() >= 0 || player.isGliding()) {
+    private void handleEmergencyDeploy(Player player, FlightSession session) {
+        // getVelocity() allocates a new vector, so it is checked last
+        if (!configHandler.getIsEmergencyDeployEnabled() || player.isGliding() || player.isInsideVehicle() || player.getVelocity().getY() >= 0) {
             return;
         }
 
-        if (isOnEmergencyDeployCooldown(player.getUniqueId()) || player.getFallDistance() < DEPLOY_MIN_FALL_DISTANCE || !PermissionsHelper.hasAutoDeployPermission(player)) {
+        if (System.currentTimeMillis() <= session.getDeployCooldownEnd() || player.getFallDistance() < DEPLOY_MIN_FALL_DISTANCE || !PermissionsHelper.hasAutoDeployPermission(player)) {
             return;
         }
 
@@ -536,7 +637,7 @@ public class FlightHandler {
                 Vector launchVelocity = launchDirection.multiply(0.6).setY(0.5);
                 player.setVelocity(launchVelocity);
 
-                deployCooldowns.put(player.getUniqueId(), System.currentTimeMillis() + DEPLOY_COOLDOWN_MS);
+                session.setDeployCooldownEnd(System.currentTimeMillis() + DEPLOY_COOLDOWN_MS);
 
                 player.playSound(player.getLocation(), Sound.ITEM_TOTEM_USE, 0.8f, 0.8f);
                 messagesHelper.sendPlayerMessage(player, messagesHandler.getEmergencyDeploySuccess());
@@ -545,68 +646,68 @@ public class FlightHandler {
         }
     }
 
-    private boolean isOnEmergencyDeployCooldown(UUID playerId) {
-        if (!deployCooldowns.containsKey(playerId)) return false;
-        if (System.currentTimeMillis() > deployCooldowns.get(playerId)) {
-            deployCooldowns.remove(playerId);
-            return false;
-        }
-        return true;
+    /**
+     * @return the index of the speed's color in {@link #SPEED_COLORS}.
+     */
+    private int getSpeedColorBand(double speed) {
+        if (speed > 180) return 3;
+        if (speed > 125) return 2;
+        if (speed > 50) return 1;
+        return 0;
     }
 
-    private String calculateSpeedColor(double speed) {
-        if (speed > 180) return "§4";
-        if (speed > 125) return "§c";
-        if (speed > 50) return "§6";
-        return "§a";
-    }
+    private boolean saveFlightTimeIfDirty(FlightSession session) {
+        if (!session.clearFlightTimeDirty()) return false;
 
-    private void savePlayerFlightTime(UUID playerId) {
-        if (!configHandler.getIsTimeLimitEnabled()) return;
-        Integer time = flightTimeData.get(playerId);
-        if (time != null) {
-            try {
-                databaseHandler.setPlayerFlightTime(playerId, time);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Failed to save flight time for " + playerId, e);
-            }
+        if (configHandler.getIsTimeLimitEnabled() && session.isFlightTimeLoaded()) {
+            persistenceHandler.queueFlightTime(session.getUuid(), session.getFlightTime());
         }
+        return true;
+    }
+
+    /**
+     * Reads a player's flight time from storage, preferring a queued write that has not reached the database yet.
+     */
+    private int getStoredFlightTime(UUID playerId) throws SQLException {
+        Integer pendingTime = persistenceHandler.getPendingFlightTime(playerId);
+        return (pendingTime != null) ? pendingTime : databaseHandler.getPlayerFlightTime(playerId);
     }
 
-    private void createFlightTimeBossBar(Player player) {
-        if (flightBossBars.containsKey(player.getUniqueId())) return;
+    private void createFlightTimeBossBar(Player player, FlightSession session) {
+        if (session.getFlightBossBar() != null) return;
 
         if (PermissionsHelper.playerBypassTimeLimit(player)) {
             String message = messagesHandler.getElytraFlightTimeBypass();
-            BossBar bossBar = Bukkit.createBossBar(ColorHelper.parse(message), BarColor.YELLOW, BarStyle.SOLID);
-            bossBar.addPlayer(player);
-            flightBossBars.put(player.getUniqueId(), bossBar);
+            TrackedBossBar bossBar = bossBarHandler.show(player, BossBarHandler.BarType.FLIGHT_TIME, ColorHelper.parse(message), BarColor.YELLOW);
+            if (bossBar == null) return;
+            bossBar.setProgress(1.0);
+            session.setFlightBossBar(bossBar);
         } else {
-            int flightTime = flightTimeData.getOrDefault(player.getUniqueId(), 0);
+            int flightTime = session.getFlightTime();
             if (flightTime > 0) {
-                String message = messagesHandler.getElytraTimeLimitMessage().replace("{0}", TimeHelper.formatFlightTime(flightTime));
-                BossBar bossBar = Bukkit.createBossBar(ColorHelper.parse(message), BarColor.GREEN, BarStyle.SOLID);
-                bossBar.addPlayer(player);
-                flightBossBars.put(player.getUniqueId(), bossBar);
+                String title = messagesHandler.getElytraTimeLimitMessage().render((out, slot) -> TimeHelper.appendFlightTime(out, flightTime));
+                TrackedBossBar bossBar = bossBarHandler.show(player, BossBarHandler.BarType.FLIGHT_TIME, title, BarColor.GREEN);
+                if (bossBar == null) return;
+                bossBar.setProgress(1.0);
+                session.setFlightBossBar(bossBar);
 
                 // Set the initial time for the progress bar calculation
-                initialFlightTime.put(player.getUniqueId(), flightTime);
+                session.setInitialFlightTime(flightTime);
             }
         }
     }
 
-    private void updateBossBar(Player player, int currentFlightTime) {
-        BossBar bossBar = flightBossBars.get(player.getUniqueId());
+    private void updateBossBar(FlightSession session, int currentFlightTime) {
+        TrackedBossBar bossBar = session.getFlightBossBar();
         if (bossBar == null) return;
 
         // Calculate progress based on the initial flight time when the bar was created
-        int initialTime = initialFlightTime.getOrDefault(player.getUniqueId(), 1);
-        double progress = Math.max(0.0, (double) currentFlightTime / initialTime);
+        int initialTime = Math.max(1, session.getInitialFlightTime());
+        double progress = Math.max(0.0, Math.min(1.0, (double) currentFlightTime / initialTime));
         bossBar.setProgress(progress);
 
         // Update the title with the formatted time
-        String title = messagesHandler.getElytraTimeLimitMessage().replace("{0}", TimeHelper.formatFlightTime(currentFlightTime));
-        bossBar.setTitle(ColorHelper.parse(title));
+        bossBar.setTitle(messagesHandler.getElytraTimeLimitMessage().render((out, slot) -> TimeHelper.appendFlightTime(out, currentFlightTime)));
 
         // Update the color based on the remaining time percentage
         if (progress > 0.5) {
@@ -618,16 +719,17 @@ public class FlightHandler {
         }
     }
 
-    private void removeBossBar(Player player) {
-        BossBar bossBar = flightBossBars.remove(player.getUniqueId());
+    private void removeBossBar(FlightSession session) {
+        TrackedBossBar bossBar = session.getFlightBossBar();
+        session.setFlightBossBar(null);
         if (bossBar != null) {
-            bossBar.removeAll();
+            bossBar.hide();
         }
     }
 
-    private void handleLiquidGlide(Player player) {
+    private void handleLiquidGlide(Player player, Location location) {
         if (!configHandler.getIsLiquidGlideEnabled()) {
-            if (player.getLocation().getBlock().isLiquid()) {
+            if (location.getBlock().isLiquid()) {
                 player.setGliding(false);
             }
         }
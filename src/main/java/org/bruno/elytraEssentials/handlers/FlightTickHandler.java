@@ -0,0 +1,96 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.utils.CancellableTask;
+import org.bruno.elytraEssentials.utils.FlightSession;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+/**
+ * Runs the movement logic (speedometer, distance, trails, ...) at a fixed tick rate instead of on every PlayerMoveEvent.
+ * <p>
+ * Move events only flag the player as moved, so the cost depends on how many players are moving, not on how many
+ * movement packets their clients send. Each flagged player is sampled once per interval.
+ * Spigot/Paper use one global task for everyone, while on Folia each moving player gets a task on their own region.
+ */
+public class FlightTickHandler {
+    private final FlightHandler flightHandler;
+    private final ConfigHandler configHandler;
+    private final FoliaHelper foliaHelper;
+
+    private CancellableTask globalTask;
+    private volatile long interval;
+    private volatile boolean running = false;
+
+    public FlightTickHandler(FlightHandler flightHandler, ConfigHandler configHandler, FoliaHelper foliaHelper) {
+        this.flightHandler = flightHandler;
+        this.configHandler = configHandler;
+        this.foliaHelper = foliaHelper;
+    }
+
+    public void start() {
+        if (running) return;
+
+        this.interval = Math.max(1, configHandler.getFlightSampleInterval());
+        this.running = true;
+
+        // Folia tasks are started per player, on their first move
+        if (!foliaHelper.isFolia()) {
+            this.globalTask = foliaHelper.runTaskTimerGlobal(this::sampleAll, interval, interval);
+        }
+    }
+
+    public void shutdown() {
+        running = false;
+
+        if (globalTask != null) {
+            globalTask.cancel();
+            globalTask = null;
+        }
+
+        for (FlightSession session : flightHandler.getSessions()) {
+            CancellableTask task = session.getSampleTask();
+            if (task != null) {
+                task.cancel();
+                session.setSampleTask(null);
+            }
+        }
+    }
+
+    /**
+     * Flags a player as moved, to be processed with the next sample.
+     */
+    public void recordMove(Player player) {
+        FlightSession session = flightHandler.getSession(player.getUniqueId());
+        session.markMoved();
+
+        if (running && foliaHelper.isFolia() && session.getSampleTask() == null) {
+            session.setSampleTask(foliaHelper.runTaskTimerForEntity(player, () -> sample(player, session), interval, interval));
+        }
+    }
+
+    /**
+     * Makes the next sample start over from the player's new position, e.g. after a teleport.
+     */
+    public void resetSample(Player player) {
+        FlightSession session = flightHandler.getSessionIfPresent(player.getUniqueId());
+        if (session != null) {
+            session.resetSample();
+        }
+    }
+
+    private void sampleAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            FlightSession session = flightHandler.getSessionIfPresent(player.getUniqueId());
+            if (session != null) {
+                sample(player, session);
+            }
+        }
+    }
+
+    private void sample(Player player, FlightSession session) {
+        if (!session.clearMoved()) return;
+
+        flightHandler.processMovement(player, session);
+    }
+}
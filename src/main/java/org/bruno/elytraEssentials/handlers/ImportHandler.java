@@ -0,0 +1,122 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Imports a database backup while the server keeps running.
+ * <p>
+ * The backup is validated and copied into staging tables in the background. Only then are the cached player data
+ * and queued writes dropped, the staged tables swapped in, and the sessions of online players loaded again.
+ */
+public class ImportHandler {
+    private final DatabaseHandler databaseHandler;
+    private final PersistenceHandler persistenceHandler;
+    private final PlayerSessionHandler playerSessionHandler;
+    private final LeaderboardHandler leaderboardHandler;
+    private final FoliaHelper foliaHelper;
+    private final MessagesHelper messagesHelper;
+    private final Logger logger;
+
+    private final AtomicBoolean importing = new AtomicBoolean(false);
+
+    public ImportHandler(DatabaseHandler databaseHandler, PersistenceHandler persistenceHandler, PlayerSessionHandler playerSessionHandler,
+                         LeaderboardHandler leaderboardHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, Logger logger) {
+        this.databaseHandler = databaseHandler;
+        this.persistenceHandler = persistenceHandler;
+        this.playerSessionHandler = playerSessionHandler;
+        this.leaderboardHandler = leaderboardHandler;
+        this.foliaHelper = foliaHelper;
+        this.messagesHelper = messagesHelper;
+        this.logger = logger;
+    }
+
+    public boolean isImporting() {
+        return importing.get();
+    }
+
+    /**
+     * Starts importing a backup in the background.
+     *
+     * @param sender     The CommandSender who initiated the import.
+     * @param backupFile The backup file to import.
+     */
+    public void importBackup(CommandSender sender, File backupFile) {
+        if (!importing.compareAndSet(false, true)) {
+            messagesHelper.sendCommandSenderMessage(sender, "&cAn import is already running. Please wait for it to finish.");
+            return;
+        }
+
+        String backupFileName = backupFile.getName();
+        logger.warning("Starting database import from backup: " + backupFileName);
+        messagesHelper.sendCommandSenderMessage(sender, "&eImporting " + backupFileName + " in the background. Players can keep playing.");
+
+        foliaHelper.runAsyncTask(() -> {
+            long startTime = System.currentTimeMillis();
+            try {
+                databaseHandler.stageBackup(backupFile);
+            } catch (IOException | SQLException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not import backup '" + backupFileName + "'. No changes were made.", e);
+                foliaHelper.runTaskOnMainThread(() ->
+                        messagesHelper.sendCommandSenderMessage(sender, "&cImport failed! The backup could not be read or is invalid. No changes were made."));
+                dropStagedTables();
+                importing.set(false);
+                return;
+            }
+
+            messagesHelper.sendDebugMessage("Staged backup " + backupFileName + " in " + (System.currentTimeMillis() - startTime) + "ms.");
+            foliaHelper.runTaskOnMainThread(() -> swapIn(sender, backupFileName));
+        });
+    }
+
+    private void swapIn(CommandSender sender, String backupFileName) {
+        // Cached and queued data belongs to the old tables and would overwrite the imported rows once saved.
+        playerSessionHandler.discardSessions();
+        persistenceHandler.discardAll();
+
+        foliaHelper.runAsyncTask(() -> {
+            boolean swapped = false;
+            try {
+                databaseHandler.swapStagedTables();
+                swapped = true;
+            } catch (SQLException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not swap in the tables of backup '" + backupFileName + "'. The current data was kept.", e);
+                dropStagedTables();
+            }
+
+            boolean success = swapped;
+            foliaHelper.runTaskOnMainThread(() -> {
+                leaderboardHandler.reload();
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    playerSessionHandler.loadSession(player);
+                }
+                importing.set(false);
+
+                if (success) {
+                    logger.info("Database import complete.");
+                    messagesHelper.sendCommandSenderMessage(sender, "&aDatabase import successful! Player data has been reloaded.");
+                } else {
+                    messagesHelper.sendCommandSenderMessage(sender, "&cImport failed! The current data was kept. Check console for details.");
+                }
+            });
+        });
+    }
+
+    private void dropStagedTables() {
+        try {
+            databaseHandler.dropStagedTables();
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.WARNING, "Could not remove the staging tables of a failed import.", e);
+        }
+    }
+}
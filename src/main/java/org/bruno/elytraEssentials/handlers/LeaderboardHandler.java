@@ -0,0 +1,158 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bruno.elytraEssentials.utils.PlayerStats;
+import org.bruno.elytraEssentials.utils.RankedSkipList;
+import org.bruno.elytraEssentials.utils.StatType;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the ranked statistics of every player in memory, so leaderboards and ranks never need a database query.
+ * <p>
+ * All stored scores are read once on startup. Afterwards, changes to the stats of online players are applied as
+ * they happen. Until the initial load has finished, {@link #isLoaded()} is false and callers should use the database.
+ */
+public class LeaderboardHandler {
+    private final DatabaseHandler databaseHandler;
+    private final FoliaHelper foliaHelper;
+    private final MessagesHelper messagesHelper;
+    private final Logger logger;
+
+    private final Map<StatType, RankedSkipList> leaderboards = new EnumMap<>(StatType.class);
+    // The PlayerStats version last applied per online player, to skip players whose stats did not change.
+    private final Map<UUID, Long> appliedVersions = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+    private boolean loading = false;
+    // Bumped by every reload, so a load that was started before it throws its outdated result away.
+    private long loadGeneration = 0;
+
+    public LeaderboardHandler(DatabaseHandler databaseHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, Logger logger) {
+        this.databaseHandler = databaseHandler;
+        this.foliaHelper = foliaHelper;
+        this.messagesHelper = messagesHelper;
+        this.logger = logger;
+
+        leaderboards.put(StatType.TOTAL_DISTANCE, new RankedSkipList());
+        leaderboards.put(StatType.TOTAL_FLIGHT_TIME, new RankedSkipList());
+        leaderboards.put(StatType.LONGEST_FLIGHT, new RankedSkipList());
+    }
+
+    /**
+     * Loads all stored scores in the background. Does nothing if they are already loaded.
+     */
+    public synchronized void start() {
+        if (loaded || loading) return;
+        load();
+    }
+
+    /**
+     * Drops all scores and loads them again, e.g. after the stored data was replaced.
+     * A load that is still running is superseded. Until the new load finishes, callers fall back to the database.
+     */
+    public synchronized void reload() {
+        loadGeneration++;
+        loaded = false;
+        appliedVersions.clear();
+        leaderboards.values().forEach(RankedSkipList::clear);
+        load();
+    }
+
+    private synchronized void load() {
+        loading = true;
+        long generation = loadGeneration;
+
+        foliaHelper.runAsyncTask(() -> {
+            try {
+                long startTime = System.currentTimeMillis();
+                List<PlayerStats> allStats = databaseHandler.getLeaderboardStats();
+
+                synchronized (this) {
+                    if (generation != loadGeneration) {
+                        messagesHelper.sendDebugMessage("Discarded an outdated leaderboard load.");
+                        return;
+                    }
+
+                    // Scores applied while loading came from live stats and are newer than the database.
+                    for (PlayerStats stats : allStats) {
+                        leaderboards.get(StatType.TOTAL_DISTANCE).putIfAbsent(stats.getUuid(), stats.getTotalDistance());
+                        leaderboards.get(StatType.TOTAL_FLIGHT_TIME).putIfAbsent(stats.getUuid(), stats.getTotalTimeSeconds());
+                        leaderboards.get(StatType.LONGEST_FLIGHT).putIfAbsent(stats.getUuid(), stats.getLongestFlight());
+                    }
+                    loaded = true;
+                }
+
+                messagesHelper.sendDebugMessage("Loaded leaderboards for " + allStats.size() + " players in " + (System.currentTimeMillis() - startTime) + "ms.");
+            } catch (SQLException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Failed to load leaderboards. Falling back to database queries.", e);
+            } finally {
+                synchronized (this) {
+                    if (generation == loadGeneration) loading = false;
+                }
+            }
+        });
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @return True if the given stat type is kept in memory.
+     */
+    public boolean isRanked(StatType type) {
+        return leaderboards.containsKey(type);
+    }
+
+    /**
+     * Applies a player's current stats to the leaderboards.
+     */
+    public void update(PlayerStats stats) {
+        long version = stats.getVersion();
+        leaderboards.get(StatType.TOTAL_DISTANCE).put(stats.getUuid(), stats.getTotalDistance());
+        leaderboards.get(StatType.TOTAL_FLIGHT_TIME).put(stats.getUuid(), stats.getTotalTimeSeconds());
+        leaderboards.get(StatType.LONGEST_FLIGHT).put(stats.getUuid(), stats.getLongestFlight());
+        appliedVersions.put(stats.getUuid(), version);
+    }
+
+    /**
+     * Applies a player's current stats to the leaderboards if they changed since the last update.
+     */
+    public void updateIfChanged(PlayerStats stats) {
+        Long appliedVersion = appliedVersions.get(stats.getUuid());
+        if (appliedVersion != null && appliedVersion == stats.getVersion()) return;
+
+        update(stats);
+    }
+
+    /**
+     * Stops tracking changes for a player that went offline. Their scores stay ranked.
+     */
+    public void release(UUID uuid) {
+        appliedVersions.remove(uuid);
+    }
+
+    /**
+     * @return The player's rank for the given stat, or -1 if they are not ranked.
+     */
+    public int getRank(UUID uuid, StatType type) {
+        return leaderboards.get(type).getRank(uuid);
+    }
+
+    /**
+     * @return The top players for the given stat, highest first, mapped to their scores.
+     */
+    public Map<UUID, Double> getTop(StatType type, int limit) {
+        Map<UUID, Double> top = new LinkedHashMap<>();
+        for (RankedSkipList.Entry entry : leaderboards.get(type).getRange(1, limit)) {
+            top.put(entry.uuid(), entry.score());
+        }
+        return top;
+    }
+}
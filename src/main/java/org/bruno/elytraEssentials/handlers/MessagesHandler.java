@@ -1,5 +1,6 @@
 package org.bruno.elytraEssentials.handlers;
 
+import org.bruno.elytraEssentials.utils.MessageTemplate;
 import org.bukkit.configuration.file.FileConfiguration;
 
 public final class MessagesHandler {
@@ -29,13 +30,13 @@ public final class MessagesHandler {
     private String flightTimeSet;
     private String flightTimeCleared;
     private String flightTimeBypass;
-    private String flightTimeLimit;
+    private MessageTemplate flightTimeLimit;
 
     private String boostCooldown;
 
-    private String speedoMeterNormal;
-    private String speedoMeterBoost;
-    private String speedoMeterSuperBoost;
+    private MessageTemplate speedoMeterNormal;
+    private MessageTemplate speedoMeterBoost;
+    private MessageTemplate speedoMeterSuperBoost;
 
     private String newPRLongestFlight;
 
@@ -69,7 +70,7 @@ public final class MessagesHandler {
 
     // Combat Tag Messages
     private String cannotGlideCombatTagged;
-    private String combatTagged;
+    private MessageTemplate combatTagged;
     private String combatTaggedExpired;
 
     // Tandem Flight Messages
@@ -135,15 +136,15 @@ public final class MessagesHandler {
         this.flightTimeSet = fileConfiguration.getString("flight-time-set", "&7Your flight time has been set to &e{0}&7.");
         this.flightTimeCleared = fileConfiguration.getString("flight-time-cleared", "&cYour flight time has been cleared.");
         this.flightTimeBypass = fileConfiguration.getString("flight-time-bypass", "&eYou have unlimited time!");
-        this.flightTimeLimit = fileConfiguration.getString("flight-time-limit", "&eFlight Time Left: &6{0}");
+        this.flightTimeLimit = MessageTemplate.compile(fileConfiguration.getString("flight-time-limit", "&eFlight Time Left: &6{0}"));
 
         // Boost Messages
         this.boostCooldown = fileConfiguration.getString("boost-cooldown", "&7You must wait &e{0}s &7before boosting again.");
 
         //  SpeedoMeter
-        this.speedoMeterNormal = fileConfiguration.getString("speedometer-normal", "&eSpeed: {0}{1} &ekm/h");
-        this.speedoMeterBoost = fileConfiguration.getString("speedometer-boost", "&a&l+ &eSpeed: {0}{1} &ekm/h &a&l+");
-        this.speedoMeterSuperBoost = fileConfiguration.getString("speedometer-super-boost", "&c&l++ &eSpeed: {0}{1} &ekm/h &c&l++");
+        this.speedoMeterNormal = MessageTemplate.compile(fileConfiguration.getString("speedometer-normal", "&eSpeed: {0}{1} &ekm/h"));
+        this.speedoMeterBoost = MessageTemplate.compile(fileConfiguration.getString("speedometer-boost", "&a&l+ &eSpeed: {0}{1} &ekm/h &a&l+"));
+        this.speedoMeterSuperBoost = MessageTemplate.compile(fileConfiguration.getString("speedometer-super-boost", "&c&l++ &eSpeed: {0}{1} &ekm/h &c&l++"));
 
         // Stats & Records
         this.newPRLongestFlight = fileConfiguration.getString("longest-flight-pr", "&6&lNew Record! &fYour new longest flight: &e{0} blocks!");
@@ -178,7 +179,7 @@ public final class MessagesHandler {
 
         // Combat Tag
         this.cannotGlideCombatTagged = fileConfiguration.getString("cannot-glide-combat-tagged", "&cYou cannot glide while in combat!");
-        this.combatTagged = fileConfiguration.getString("combat-tagged", "&cCombat Tagged! Time Left: &6{0}");
+        this.combatTagged = MessageTemplate.compile(fileConfiguration.getString("combat-tagged", "&cCombat Tagged! Time Left: &6{0}"));
         this.combatTaggedExpired = fileConfiguration.getString("combat-tagged-expired", "&cYour combat tag has expired.");
 
         // Tandem Flight Messages
@@ -229,15 +230,15 @@ public final class MessagesHandler {
     public String getElytraFlightTimeExpired() { return this.flightTimeExpired; }
     public String getElytraFlightTimeRemoved() { return this.flightTimeRemoved; }
     public String getElytraFlightTimeSet() { return this.flightTimeSet; }
-    public String getElytraTimeLimitMessage() { return this.flightTimeLimit; }
+    public MessageTemplate getElytraTimeLimitMessage() { return this.flightTimeLimit; }
 
     // Boost Messages
     public String getBoostCooldown() { return this.boostCooldown; }
 
     //  SpeedoMeter
-    public String getSpeedoMeterNormal() { return this.speedoMeterNormal; }
-    public String getSpeedoMeterBoost() { return this.speedoMeterBoost; }
-    public String getSpeedoMeterSuperBoost() { return this.speedoMeterSuperBoost; }
+    public MessageTemplate getSpeedoMeterNormal() { return this.speedoMeterNormal; }
+    public MessageTemplate getSpeedoMeterBoost() { return this.speedoMeterBoost; }
+    public MessageTemplate getSpeedoMeterSuperBoost() { return this.speedoMeterSuperBoost; }
 
     // Stats & Records
     public String getNewPRLongestFlightMessage() { return this.newPRLongestFlight; }
@@ -272,7 +273,7 @@ public final class MessagesHandler {
 
     // Combat Tag
     public String getCannotGlideCombatTagged() { return cannotGlideCombatTagged; }
-    public String getCombatTagged() { return combatTagged; }
+    public MessageTemplate getCombatTagged() { return combatTagged; }
     public String getCombatTaggedExpired() { return combatTaggedExpired; }
 
     // Tandem Flight
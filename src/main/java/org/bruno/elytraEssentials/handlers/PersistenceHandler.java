@@ -0,0 +1,243 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bruno.elytraEssentials.utils.PlayerStats;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind queue for per-player data.
+ * <p>
+ * Callers hand over the latest flight time or a stats snapshot and return immediately. Writes for the same
+ * player are coalesced until the dedicated writer thread flushes them to the database in a single transaction.
+ * On shutdown the remaining writes are drained synchronously on the calling thread.
+ */
+public class PersistenceHandler {
+    private static final long WRITER_JOIN_TIMEOUT_MS = 10000;
+
+    private final DatabaseHandler databaseHandler;
+    private final ConfigHandler configHandler;
+    private final FoliaHelper foliaHelper;
+    private final MessagesHelper messagesHelper;
+    private final Logger logger;
+
+    // Latest unsaved state per player, and the order in which players became dirty.
+    private final Map<UUID, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+    private final BlockingQueue<UUID> dirtyQueue;
+
+    // Writes taken by the writer but not yet committed. Kept visible to readers and retried on failure.
+    private final Map<UUID, PendingWrite> inFlightWrites = new ConcurrentHashMap<>();
+
+    private volatile Thread writerThread;
+    private volatile boolean running = false;
+
+    private record PendingWrite(Integer flightTime, PlayerStats stats) {
+        PendingWrite withFlightTime(int flightTime) { return new PendingWrite(flightTime, stats); }
+        PendingWrite withStats(PlayerStats stats) { return new PendingWrite(flightTime, stats); }
+
+        /** The same write without its stats, or null if nothing would be left. */
+        PendingWrite withoutStats() { return flightTime != null ? new PendingWrite(flightTime, null) : null; }
+
+        /** Combines an older write with a newer one, the newer values win. */
+        PendingWrite mergedWith(PendingWrite newer) {
+            return new PendingWrite(
+                    newer.flightTime != null ? newer.flightTime : flightTime,
+                    newer.stats != null ? newer.stats : stats);
+        }
+    }
+
+    @FunctionalInterface
+    public interface StoredStatsReset {
+        void run() throws SQLException;
+    }
+
+    public PersistenceHandler(DatabaseHandler databaseHandler, ConfigHandler configHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, Logger logger) {
+        this.databaseHandler = databaseHandler;
+        this.configHandler = configHandler;
+        this.foliaHelper = foliaHelper;
+        this.messagesHelper = messagesHelper;
+        this.logger = logger;
+
+        this.dirtyQueue = new LinkedBlockingQueue<>(Math.max(1, configHandler.getWriteBehindQueueCapacity()));
+    }
+
+    public void start() {
+        if (running) return;
+
+        running = true;
+        Thread thread = new Thread(this::runWriter, "ElytraEssentials-Writer");
+        thread.setDaemon(true);
+        this.writerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the writer thread and synchronously flushes everything that is still queued.
+     * Must be called before the database connection is closed.
+     */
+    public void shutdown() {
+        if (running) {
+            running = false;
+
+            Thread thread = this.writerThread;
+            this.writerThread = null;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+                try {
+                    thread.join(WRITER_JOIN_TIMEOUT_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        flush();
+
+        if (!inFlightWrites.isEmpty()) {
+            logger.severe("Could not save data for " + inFlightWrites.size() + " player(s) during shutdown. Their latest changes were lost.");
+            inFlightWrites.clear();
+        }
+    }
+
+    public void queueFlightTime(UUID uuid, int flightTime) {
+        enqueue(uuid, new PendingWrite(flightTime, null), existing -> existing.withFlightTime(flightTime));
+    }
+
+    /**
+     * Queues a player's stats for saving. A copy is taken, so the live object may keep changing.
+     */
+    public void queueStats(PlayerStats stats) {
+        PlayerStats snapshot = new PlayerStats(stats);
+        enqueue(stats.getUuid(), new PendingWrite(null, snapshot), existing -> existing.withStats(snapshot));
+    }
+
+    /**
+     * Returns the newest flight time that is queued but not yet committed, or null if there is none.
+     */
+    public Integer getPendingFlightTime(UUID uuid) {
+        PendingWrite write = pendingWrites.get(uuid);
+        if (write != null && write.flightTime() != null) return write.flightTime();
+
+        write = inFlightWrites.get(uuid);
+        return (write != null) ? write.flightTime() : null;
+    }
+
+    /**
+     * Returns a copy of the newest stats that are queued but not yet committed, or null if there are none.
+     */
+    public PlayerStats getPendingStats(UUID uuid) {
+        PendingWrite write = pendingWrites.get(uuid);
+        if (write == null || write.stats() == null) {
+            write = inFlightWrites.get(uuid);
+        }
+        return (write != null && write.stats() != null) ? new PlayerStats(write.stats()) : null;
+    }
+
+    /**
+     * Drops a player's queued stats and then runs the reset of their stored stats, with no flush in between that
+     * could write the old stats back. A queued flight time is kept.
+     */
+    public synchronized void discardStats(UUID uuid, StoredStatsReset reset) throws SQLException {
+        pendingWrites.computeIfPresent(uuid, (key, write) -> write.withoutStats());
+        inFlightWrites.computeIfPresent(uuid, (key, write) -> write.withoutStats());
+        reset.run();
+    }
+
+    /**
+     * Drops every queued write, e.g. before the stored data is replaced. Waits for a flush that is already running.
+     */
+    public synchronized void discardAll() {
+        dirtyQueue.clear();
+        pendingWrites.clear();
+        inFlightWrites.clear();
+    }
+
+    private void enqueue(UUID uuid, PendingWrite write, UnaryOperator<PendingWrite> update) {
+        boolean[] isNew = { false };
+        pendingWrites.compute(uuid, (key, existing) -> {
+            if (existing == null) {
+                isNew[0] = true;
+                return write;
+            }
+            return update.apply(existing);
+        });
+
+        if (!isNew[0]) return; // Already queued, the writer will pick up the merged value.
+
+        if (!running) {
+            // Nobody is going to drain the queue (e.g. between a reload's shutdown and start), so flush in the background.
+            flushAsync();
+            return;
+        }
+
+        if (!dirtyQueue.offer(uuid)) {
+            // The entry is still in pendingWrites, which the flush drains as well, so just wake the writer up early.
+            messagesHelper.sendDebugMessage("Write-behind queue is full, flushing early.");
+            Thread thread = this.writerThread;
+            if (thread != null) LockSupport.unpark(thread);
+        }
+    }
+
+    private void flushAsync() {
+        try {
+            foliaHelper.runAsyncTask(this::flush);
+        } catch (RuntimeException e) {
+            // The scheduler refuses new tasks while the plugin is disabling, and then nothing else would save it.
+            flush();
+        }
+    }
+
+    private void runWriter() {
+        while (running) {
+            long interval = TimeUnit.SECONDS.toNanos(Math.max(1, configHandler.getWriteBehindFlushInterval()));
+            LockSupport.parkNanos(this, interval);
+            if (!running) break;
+
+            flush();
+        }
+    }
+
+    private synchronized void flush() {
+        List<UUID> drained = new ArrayList<>();
+        dirtyQueue.drainTo(drained);
+        drained.addAll(pendingWrites.keySet()); // Entries that never made it into the queue because it was full.
+
+        for (UUID uuid : drained) {
+            PendingWrite write = pendingWrites.remove(uuid);
+            if (write != null) {
+                inFlightWrites.merge(uuid, write, PendingWrite::mergedWith);
+            }
+        }
+
+        if (inFlightWrites.isEmpty()) return;
+
+        Map<UUID, PendingWrite> batch = new HashMap<>(inFlightWrites);
+        Map<UUID, Integer> flightTimes = new HashMap<>();
+        List<PlayerStats> stats = new ArrayList<>();
+        for (Map.Entry<UUID, PendingWrite> entry : batch.entrySet()) {
+            if (entry.getValue().flightTime() != null) flightTimes.put(entry.getKey(), entry.getValue().flightTime());
+            if (entry.getValue().stats() != null) stats.add(entry.getValue().stats());
+        }
+
+        try {
+            long startTime = System.nanoTime();
+            databaseHandler.savePlayerData(flightTimes, stats);
+            batch.forEach(inFlightWrites::remove);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            messagesHelper.sendDebugMessage("Flushed " + flightTimes.size() + " flight time(s) and " + stats.size() + " stat record(s) in " + elapsedMs + "ms.");
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Failed to save queued data for " + batch.size() + " player(s). Retrying on the next flush.", e);
+        }
+    }
+}
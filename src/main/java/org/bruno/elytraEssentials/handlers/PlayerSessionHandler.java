@@ -0,0 +1,193 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.utils.PlayerStats;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads and unloads everything the plugin keeps in memory for an online player.
+ * <p>
+ * All data is fetched in one asynchronous step and then handed to the individual handlers on the player's thread.
+ * Each session publishes a readiness future, so callers can tell whether a player's data has arrived yet.
+ */
+public class PlayerSessionHandler {
+    private static final long RETRY_DELAY_TICKS = 100L; // 5 seconds
+    private static final long PREFETCH_EXPIRY_MS = 30000L;
+
+    private final DatabaseHandler databaseHandler;
+    private final PersistenceHandler persistenceHandler;
+    private final FlightHandler flightHandler;
+    private final StatsHandler statsHandler;
+    private final EffectsHandler effectsHandler;
+    private final AchievementsHandler achievementsHandler;
+    private final FoliaHelper foliaHelper;
+    private final Logger logger;
+
+    private final Map<UUID, CompletableFuture<Void>> sessions = new ConcurrentHashMap<>();
+
+    // Data fetched during pre-login, waiting for the player to actually join.
+    private final Map<UUID, PrefetchedSession> prefetchedSessions = new ConcurrentHashMap<>();
+
+    private record PrefetchedSession(DatabaseHandler.PlayerSessionData data, long fetchedAt) {
+        boolean isExpired(long now) { return now - fetchedAt > PREFETCH_EXPIRY_MS; }
+    }
+
+    public PlayerSessionHandler(DatabaseHandler databaseHandler, PersistenceHandler persistenceHandler, FlightHandler flightHandler,
+                                StatsHandler statsHandler, EffectsHandler effectsHandler, AchievementsHandler achievementsHandler,
+                                FoliaHelper foliaHelper, Logger logger) {
+        this.databaseHandler = databaseHandler;
+        this.persistenceHandler = persistenceHandler;
+        this.flightHandler = flightHandler;
+        this.statsHandler = statsHandler;
+        this.effectsHandler = effectsHandler;
+        this.achievementsHandler = achievementsHandler;
+        this.foliaHelper = foliaHelper;
+        this.logger = logger;
+    }
+
+    /**
+     * Fetches a player's data ahead of their join. Blocks, so it must only be called off the main thread,
+     * e.g. from AsyncPlayerPreLoginEvent.
+     */
+    public void prefetchSession(UUID uuid) {
+        long now = System.currentTimeMillis();
+        prefetchedSessions.values().removeIf(prefetched -> prefetched.isExpired(now)); // Logins that never completed
+
+        try {
+            prefetchedSessions.put(uuid, new PrefetchedSession(readSession(uuid), now));
+        } catch (SQLException | RuntimeException e) {
+            // Not fatal, the data is loaded again once the player joins.
+            logger.log(Level.WARNING, "Could not prefetch data for " + uuid + ".", e);
+        }
+    }
+
+    /**
+     * Loads a player's data, adopting it straight away if it was prefetched during login
+     * and fetching it in the background otherwise.
+     *
+     * @param player The player whose session should be loaded.
+     * @return A future that completes on the player's thread once all handlers have received the data.
+     */
+    public CompletableFuture<Void> loadSession(Player player) {
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<Void> readiness = new CompletableFuture<>();
+        sessions.put(uuid, readiness);
+
+        PrefetchedSession prefetched = prefetchedSessions.remove(uuid);
+        if (prefetched != null && !prefetched.isExpired(System.currentTimeMillis())) {
+            // Something may have been queued for the player since the prefetch, e.g. by an admin command.
+            DatabaseHandler.PlayerSessionData data = withPendingWrites(prefetched.data(),
+                    persistenceHandler.getPendingFlightTime(uuid), persistenceHandler.getPendingStats(uuid));
+            applySession(uuid, data, readiness);
+            return readiness;
+        }
+
+        foliaHelper.runAsyncTask(() -> fetchSession(player, readiness));
+        return readiness;
+    }
+
+    /**
+     * Hands the player's data over for saving and releases everything held in memory for them.
+     */
+    public void unloadSession(Player player) {
+        CompletableFuture<Void> readiness = sessions.remove(player.getUniqueId());
+        if (readiness != null && !readiness.isDone()) {
+            // Stops a load that is still running from applying data after the player left.
+            readiness.cancel(false);
+        }
+
+        statsHandler.savePlayerStats(player);
+        effectsHandler.clearPlayerEffects(player);
+        achievementsHandler.clearPlayerAchievements(player.getUniqueId());
+        flightHandler.unloadPlayerData(player);
+    }
+
+    /**
+     * Drops the in-memory data of every online player without saving it, e.g. before the stored data is replaced.
+     * Their sessions must be loaded again afterwards.
+     */
+    public void discardSessions() {
+        prefetchedSessions.clear();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            UUID uuid = player.getUniqueId();
+            CompletableFuture<Void> readiness = sessions.remove(uuid);
+            if (readiness != null && !readiness.isDone()) {
+                readiness.cancel(false);
+            }
+
+            statsHandler.discardPlayerStats(uuid);
+            effectsHandler.clearPlayerEffects(player);
+            achievementsHandler.clearPlayerAchievements(uuid);
+            flightHandler.discardFlightTime(uuid);
+        }
+    }
+
+    /**
+     * @return {@code true} once the player's stored data has been loaded into memory.
+     */
+    public boolean isReady(UUID playerId) {
+        CompletableFuture<Void> readiness = sessions.get(playerId);
+        return readiness != null && readiness.isDone() && !readiness.isCompletedExceptionally();
+    }
+
+    /**
+     * @return The readiness future of the player's current session, or {@code null} if they have none.
+     */
+    public CompletableFuture<Void> getReadiness(UUID playerId) {
+        return sessions.get(playerId);
+    }
+
+    private void fetchSession(Player player, CompletableFuture<Void> readiness) {
+        UUID uuid = player.getUniqueId();
+        try {
+            DatabaseHandler.PlayerSessionData data = readSession(uuid);
+            foliaHelper.runTask(player, () -> applySession(uuid, data, readiness));
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Could not load data for player " + player.getName() + ". Retrying in 5 seconds.", e);
+
+            foliaHelper.runTaskLater(player, () -> {
+                if (player.isOnline() && sessions.get(uuid) == readiness && !readiness.isDone()) {
+                    foliaHelper.runAsyncTask(() -> fetchSession(player, readiness));
+                }
+            }, RETRY_DELAY_TICKS);
+        }
+    }
+
+    private void applySession(UUID uuid, DatabaseHandler.PlayerSessionData data, CompletableFuture<Void> readiness) {
+        if (sessions.get(uuid) != readiness || readiness.isDone()) return;
+
+        flightHandler.applyLoadedFlightTime(uuid, data.flightTime());
+        statsHandler.applyLoadedStats(uuid, data.stats());
+        effectsHandler.applyLoadedEffects(uuid, data.activeEffect(), data.ownedEffects());
+        achievementsHandler.applyUnlockedAchievements(uuid, data.unlockedAchievements());
+
+        readiness.complete(null);
+    }
+
+    private DatabaseHandler.PlayerSessionData readSession(UUID uuid) throws SQLException {
+        // Queued writes are newer than the database, so check them before reading it.
+        Integer pendingFlightTime = persistenceHandler.getPendingFlightTime(uuid);
+        PlayerStats pendingStats = persistenceHandler.getPendingStats(uuid);
+
+        return withPendingWrites(databaseHandler.loadPlayerSession(uuid), pendingFlightTime, pendingStats);
+    }
+
+    private DatabaseHandler.PlayerSessionData withPendingWrites(DatabaseHandler.PlayerSessionData data, Integer pendingFlightTime, PlayerStats pendingStats) {
+        if (pendingFlightTime == null && pendingStats == null) return data;
+
+        return new DatabaseHandler.PlayerSessionData(
+                (pendingFlightTime != null) ? pendingFlightTime : data.flightTime(),
+                (pendingStats != null) ? pendingStats : data.stats(),
+                data.activeEffect(), data.ownedEffects(), data.unlockedAchievements());
+    }
+}
@@ -50,6 +50,8 @@ public class RecoveryHandler
             if (PermissionsHelper.playerBypassTimeLimit(player)) continue;
 
             UUID playerId = player.getUniqueId();
+            if (!flightHandler.hasLoadedFlightTime(playerId)) continue; // Data is still loading
+
             int currentFlightTime = flightHandler.getCurrentFlightTime(playerId);
 
             if (maxTimeLimit > 0 && currentFlightTime >= maxTimeLimit) continue;
@@ -21,23 +21,31 @@ public class StatsHandler {
     private static final double KMH_CONVERSION_FACTOR = 3.6;
 
     private final DatabaseHandler databaseHandler;
+    private final PersistenceHandler persistenceHandler;
     private final FoliaHelper foliaHelper;
     private final Logger logger;
     private final MessagesHelper messagesHelper;
     private final EffectsHandler effectsHandler;
+    private final LeaderboardHandler leaderboardHandler;
 
     private final Map<UUID, PlayerStats> statsCache = new ConcurrentHashMap<>();
+    // Progress made while a player's stored stats are still loading, merged in once they arrive.
+    private final Map<UUID, PlayerStats> stagedStats = new ConcurrentHashMap<>();
     private final Set<UUID> glidingPlayers = new HashSet<>();
     private record PlayerRanks(int distanceRank, int timeRank, int longestFlightRank) {}
     private CancellableTask task;
+    private PlayerStats.ChangeListener statChangeListener;
 
     // Constructor updated with new dependencies
-    public StatsHandler(Logger logger, DatabaseHandler databaseHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, EffectsHandler effectsHandler) {
+    public StatsHandler(Logger logger, DatabaseHandler databaseHandler, PersistenceHandler persistenceHandler, FoliaHelper foliaHelper,
+                        MessagesHelper messagesHelper, EffectsHandler effectsHandler, LeaderboardHandler leaderboardHandler) {
         this.logger = logger;
         this.databaseHandler = databaseHandler;
+        this.persistenceHandler = persistenceHandler;
         this.foliaHelper = foliaHelper;
         this.messagesHelper = messagesHelper;
         this.effectsHandler = effectsHandler;
+        this.leaderboardHandler = leaderboardHandler;
     }
 
     /**
@@ -53,14 +61,22 @@ public class StatsHandler {
                 if (target.isOnline()) {
                     targetStats = getStats(target.getPlayer()); // Get live data from cache
                 } else {
-                    targetStats = databaseHandler.getPlayerStats(target.getUniqueId()); // Get last saved data from DB
+                    targetStats = getStoredStats(target.getUniqueId()); // Get last saved data
                 }
 
-                // Ranks always come from the database as they are relative to all players.
-                int distanceRank = databaseHandler.getPlayerRank(target.getUniqueId(), "total_distance");
-                int timeRank = databaseHandler.getPlayerRank(target.getUniqueId(), "total_time_seconds");
-                int longestFlightRank = databaseHandler.getPlayerRank(target.getUniqueId(), "longest_flight");
-                PlayerRanks ranks = new PlayerRanks(distanceRank, timeRank, longestFlightRank);
+                // Ranks are relative to all players, so they come from the leaderboards or, until those are loaded, the database.
+                PlayerRanks ranks;
+                if (leaderboardHandler.isLoaded()) {
+                    ranks = new PlayerRanks(
+                            leaderboardHandler.getRank(target.getUniqueId(), StatType.TOTAL_DISTANCE),
+                            leaderboardHandler.getRank(target.getUniqueId(), StatType.TOTAL_FLIGHT_TIME),
+                            leaderboardHandler.getRank(target.getUniqueId(), StatType.LONGEST_FLIGHT));
+                } else {
+                    ranks = new PlayerRanks(
+                            databaseHandler.getPlayerRank(target.getUniqueId(), "total_distance"),
+                            databaseHandler.getPlayerRank(target.getUniqueId(), "total_time_seconds"),
+                            databaseHandler.getPlayerRank(target.getUniqueId(), "longest_flight"));
+                }
 
                 // Switch back to main thread to display the stats.
                 foliaHelper.runTaskOnMainThread(() -> {
@@ -77,32 +93,73 @@ public class StatsHandler {
         });
     }
 
-    public void loadPlayerStats(Player player) {
-        foliaHelper.runAsyncTask(() -> {
-            try {
-                PlayerStats stats = databaseHandler.getPlayerStats(player.getUniqueId());
-                statsCache.put(player.getUniqueId(), stats);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Could not load stats for player " + player.getName(), e);
-            }
-        });
+    /**
+     * Sets the listener attached to the live stats of online players, e.g. to award achievements as soon as a stat changes.
+     */
+    public void setStatChangeListener(PlayerStats.ChangeListener statChangeListener) {
+        this.statChangeListener = statChangeListener;
+    }
+
+    /**
+     * Receives a player's stored stats from the session loader and merges any progress staged in the meantime.
+     * Stats that are already cached (e.g. during a reload) are newer and are kept.
+     */
+    public void applyLoadedStats(UUID uuid, PlayerStats storedStats) {
+        PlayerStats staged = stagedStats.remove(uuid);
+        PlayerStats stats = statsCache.computeIfAbsent(uuid, key -> storedStats);
+        stats.setChangeListener(statChangeListener);
+        if (staged != null) {
+            stats.mergeFrom(staged);
+        }
+    }
+
+    /**
+     * Forgets a player's cached stats without saving them, e.g. before they are replaced by an import.
+     * Progress made until they are loaded again is staged as usual.
+     */
+    public void discardPlayerStats(UUID uuid) {
+        PlayerStats stats = statsCache.remove(uuid);
+        if (stats != null) stats.setChangeListener(null);
+        stagedStats.remove(uuid);
+        leaderboardHandler.release(uuid);
     }
 
     public void savePlayerStats(Player player) {
-        PlayerStats stats = statsCache.remove(player.getUniqueId());
-        glidingPlayers.remove(player.getUniqueId());
+        UUID uuid = player.getUniqueId();
+        PlayerStats stats = statsCache.remove(uuid);
+        PlayerStats staged = stagedStats.remove(uuid);
+        glidingPlayers.remove(uuid);
 
         if (stats != null) {
-            try {
-                databaseHandler.savePlayerStats(stats);
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Could not save stats for player " + player.getName(), e);
-            }
+            stats.setChangeListener(null);
+            leaderboardHandler.updateIfChanged(stats);
+            leaderboardHandler.release(uuid);
+            if (stats.isDirty()) persistenceHandler.queueStats(stats);
+        } else if (staged != null) {
+            // The player left before their stats finished loading, add the staged progress to what is stored.
+            foliaHelper.runAsyncTask(() -> {
+                try {
+                    PlayerStats storedStats = getStoredStats(uuid);
+                    storedStats.mergeFrom(staged);
+                    persistenceHandler.queueStats(storedStats);
+                    leaderboardHandler.update(storedStats);
+                    leaderboardHandler.release(uuid);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Could not save stats for player " + player.getName(), e);
+                }
+            });
         }
     }
 
+    /**
+     * Returns the live stats of an online player. While their stored stats are still loading,
+     * a staging object is returned instead so that no progress is lost.
+     */
     public PlayerStats getStats(Player player) {
-        return statsCache.getOrDefault(player.getUniqueId(), new PlayerStats(player.getUniqueId()));
+        PlayerStats stats = statsCache.get(player.getUniqueId());
+        if (stats != null) return stats;
+
+        return stagedStats.computeIfAbsent(player.getUniqueId(), PlayerStats::new);
     }
 
     /**
@@ -138,7 +195,10 @@ public class StatsHandler {
         if (this.task != null) return;
 
         // Use the Folia-safe global timer
-        this.task = foliaHelper.runTaskTimerGlobal(this::glidingTimeTracker, 20L, 20L);
+        this.task = foliaHelper.runTaskTimerGlobal(() -> {
+            glidingTimeTracker();
+            syncLeaderboards();
+        }, 20L, 20L);
     }
 
     public void shutdown() {
@@ -154,22 +214,31 @@ public class StatsHandler {
     public void saveAllOnlinePlayers() {
         messagesHelper.sendDebugMessage("Saving stats for all online players...");
 
-        // This loop runs directly on the main thread.
+        // Only snapshots are taken here, the writer thread does the actual database work.
         for (Player player : Bukkit.getOnlinePlayers()) {
-            PlayerStats stats = statsCache.get(player.getUniqueId());
-            if (stats != null) {
-                try {
-                    databaseHandler.savePlayerStats(stats);
-                } catch (SQLException e) {
-                    logger.log(Level.SEVERE, "Failed to save stats for " + player.getName() + " during shutdown.", e);
-                }
-            }
+            saveIfDirty(player.getUniqueId());
         }
-        messagesHelper.sendDebugMessage("Finished saving all player stats.");
+        messagesHelper.sendDebugMessage("Queued stats of all online players for saving.");
+    }
+
+    /**
+     * Queues a player's stats for saving if they changed since the last save.
+     *
+     * @return true if a save was queued.
+     */
+    public boolean saveIfDirty(UUID uuid) {
+        PlayerStats stats = statsCache.get(uuid);
+        if (stats == null || !stats.isDirty()) return false;
+
+        long version = stats.getVersion();
+        persistenceHandler.queueStats(stats);
+        stats.markSaved(version);
+        return true;
     }
 
     public void displayTopStats(CommandSender sender, String category) {
         final String dbColumn;
+        final StatType statType;
         final String title;
         final String format;
 
@@ -177,16 +246,19 @@ public class StatsHandler {
         switch (category) {
             case "distance" -> {
                 dbColumn = "total_distance";
+                statType = StatType.TOTAL_DISTANCE;
                 title = "Top Distance Flown";
                 format = "§e#%d §f%s §7- §b%.1f km";
             }
             case "time" -> {
                 dbColumn = "total_time_seconds";
+                statType = StatType.TOTAL_FLIGHT_TIME;
                 title = "Top Flight Time";
                 format = "§e#%d §f%s §7- §b%s";
             }
             case "longest" -> {
                 dbColumn = "longest_flight";
+                statType = StatType.LONGEST_FLIGHT;
                 title = "Longest Single Flights";
                 format = "§e#%d §f%s §7- §b%.0f blocks";
             }
@@ -199,7 +271,9 @@ public class StatsHandler {
         // Run the database query asynchronously using the FoliaHelper
         foliaHelper.runAsyncTask(() -> {
             try {
-                Map<UUID, Double> topData = databaseHandler.getTopStats(dbColumn, 5); // LEADERBOARD_LIMIT
+                Map<UUID, Double> topData = leaderboardHandler.isLoaded()
+                        ? leaderboardHandler.getTop(statType, 5) // LEADERBOARD_LIMIT
+                        : databaseHandler.getTopStats(dbColumn, 5);
                 List<String> formattedMessages = new ArrayList<>();
 
                 if (topData.isEmpty()) {
@@ -249,32 +323,58 @@ public class StatsHandler {
      * @param sender The CommandSender to notify upon completion.
      */
     public void resetPlayerStats(OfflinePlayer target, CommandSender sender) {
-        // Run the database operation on a background thread
-        foliaHelper.runAsyncTask(() -> {
-            try {
-                databaseHandler.resetPlayerStats(target.getUniqueId());
+        Player onlinePlayer = target.getPlayer();
+        if (onlinePlayer == null) {
+            foliaHelper.runAsyncTask(() -> resetStoredStats(target, sender, null));
+            return;
+        }
 
-                // Switch back to the main thread for cache and messaging
-                foliaHelper.runTaskOnMainThread(() -> {
-                    // If the player is online, we must also clear their live cached data
-                    if (target.isOnline()) {
-                        Player onlinePlayer = target.getPlayer();
-                        if (onlinePlayer != null) {
-                            // Replace their cached stats with a fresh, empty object
-                            statsCache.put(target.getUniqueId(), new PlayerStats(target.getUniqueId()));
-                            messagesHelper.sendPlayerMessage(onlinePlayer, "&cYour ElytraEssentials stats have been reset by an administrator.");
-                        }
-                    }
-                    messagesHelper.sendCommandSenderMessage(sender, "&aSuccessfully reset all stats for " + target.getName() + ".");
-                });
-            } catch (SQLException e) {
-                logger.log(Level.SEVERE, "Failed to reset stats for " + target.getName(), e);
-                foliaHelper.runTaskOnMainThread(() ->
-                        messagesHelper.sendCommandSenderMessage(sender, "&cAn error occurred while resetting stats."));
-            }
+        // The live stats are replaced first, so neither a save nor the leaderboard sync can bring the old ones back.
+        foliaHelper.runTask(onlinePlayer, () -> {
+            UUID uuid = target.getUniqueId();
+            PlayerStats freshStats = new PlayerStats(uuid);
+            freshStats.markSaved(freshStats.getVersion());
+            freshStats.setChangeListener(statChangeListener);
+
+            stagedStats.remove(uuid);
+            PlayerStats oldStats = statsCache.put(uuid, freshStats);
+            if (oldStats != null) oldStats.setChangeListener(null);
+            leaderboardHandler.update(freshStats);
+
+            foliaHelper.runAsyncTask(() -> resetStoredStats(target, sender, onlinePlayer));
         });
     }
 
+    private void resetStoredStats(OfflinePlayer target, CommandSender sender, Player onlinePlayer) {
+        try {
+            // Drop queued stats first, otherwise they would overwrite the reset.
+            persistenceHandler.discardStats(target.getUniqueId(), () -> databaseHandler.resetPlayerStats(target.getUniqueId()));
+            if (onlinePlayer == null) {
+                leaderboardHandler.update(new PlayerStats(target.getUniqueId()));
+                leaderboardHandler.release(target.getUniqueId());
+            }
+
+            foliaHelper.runTaskOnMainThread(() -> {
+                if (onlinePlayer != null && onlinePlayer.isOnline()) {
+                    messagesHelper.sendPlayerMessage(onlinePlayer, "&cYour ElytraEssentials stats have been reset by an administrator.");
+                }
+                messagesHelper.sendCommandSenderMessage(sender, "&aSuccessfully reset all stats for " + target.getName() + ".");
+            });
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to reset stats for " + target.getName(), e);
+            foliaHelper.runTaskOnMainThread(() ->
+                    messagesHelper.sendCommandSenderMessage(sender, "&cAn error occurred while resetting stats."));
+        }
+    }
+
+    /**
+     * Reads a player's stats from storage, preferring a queued write that has not reached the database yet.
+     */
+    private PlayerStats getStoredStats(UUID uuid) throws SQLException {
+        PlayerStats pendingStats = persistenceHandler.getPendingStats(uuid);
+        return (pendingStats != null) ? pendingStats : databaseHandler.getPlayerStats(uuid);
+    }
+
     private void glidingTimeTracker() {
         for (UUID uuid : glidingPlayers) {
             PlayerStats stats = statsCache.get(uuid);
@@ -284,6 +384,15 @@ public class StatsHandler {
         }
     }
 
+    /**
+     * Applies the stats of online players that changed in the last second to the leaderboards.
+     */
+    private void syncLeaderboards() {
+        for (PlayerStats stats : statsCache.values()) {
+            leaderboardHandler.updateIfChanged(stats);
+        }
+    }
+
     /**
      * Private helper method to format and send the stats message.
      * Moved from StatsCommand.
@@ -312,11 +421,14 @@ public class StatsHandler {
                 if (PermissionsHelper.hasAllEffectsPermission(player)){
                     effectsOwned = totalEffects;
                 }else {
-                    effectsOwned = databaseHandler.getOwnedEffectKeys(stats.getUuid()).size();
+                    effectsOwned = effectsHandler.getOwnedEffects(stats.getUuid()).size();
                 }
             }
 
-            String storedEffect = databaseHandler.getPlayerActiveEffect(stats.getUuid());
+            // Online players have their active effect cached, offline ones have to be read.
+            String storedEffect = (effectsHandler.getCachedOwnedEffects(stats.getUuid()) != null)
+                    ? effectsHandler.getActiveEffect(stats.getUuid())
+                    : databaseHandler.getPlayerActiveEffect(stats.getUuid());
             if (storedEffect != null) activeEffect = storedEffect;
         } catch (SQLException e) {
             messagesHelper.sendCommandSenderMessage(sender,"&cCould not load effect data...");
@@ -0,0 +1,222 @@
+package org.bruno.elytraEssentials.handlers;
+
+import org.bruno.elytraEssentials.helpers.FoliaHelper;
+import org.bruno.elytraEssentials.helpers.MessagesHelper;
+import org.bukkit.command.CommandSender;
+
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copies all player data from the storage type in use to the other one (SQLite to MySQL or back) while players keep playing.
+ * <p>
+ * Changes are tracked from the moment the copy starts. After the bulk copy, the rows of every player that changed are
+ * copied again until the target has caught up, and both sides are compared by checksum. The target stays connected
+ * until shutdown, where one last sync copies the changes made after the migration.
+ */
+public class StorageMigrationHandler {
+    private static final int MAX_CATCH_UP_PASSES = 5;
+    private static final int PROGRESS_STEP_PERCENT = 10;
+    private static final long SHUTDOWN_WAIT_MS = 10000;
+
+    private final DatabaseHandler databaseHandler;
+    private final FoliaHelper foliaHelper;
+    private final MessagesHelper messagesHelper;
+    private final Logger logger;
+
+    private final AtomicBoolean migrating = new AtomicBoolean(false);
+    // Completes once the running migration has stopped, so shutdown can wait for it.
+    private volatile CompletableFuture<Void> migrationDone = CompletableFuture.completedFuture(null);
+    private volatile boolean cancelled = false;
+    // The target of a completed migration, kept open for the final sync.
+    private volatile DatabaseHandler target = null;
+
+    public StorageMigrationHandler(DatabaseHandler databaseHandler, FoliaHelper foliaHelper, MessagesHelper messagesHelper, Logger logger) {
+        this.databaseHandler = databaseHandler;
+        this.foliaHelper = foliaHelper;
+        this.messagesHelper = messagesHelper;
+        this.logger = logger;
+    }
+
+    /**
+     * Starts a migration in the background.
+     *
+     * @param sender    The CommandSender who receives the progress messages.
+     * @param overwrite Whether data already in the target may be deleted.
+     */
+    public void migrate(CommandSender sender, boolean overwrite) {
+        DatabaseHandler completed = this.target;
+        if (completed != null) {
+            messagesHelper.sendCommandSenderMessage(sender, "&eThe data has already been migrated to " + completed.getStorageType()
+                    + ". Set storage.type to " + completed.getStorageType() + " in config.yml and restart the server.");
+            return;
+        }
+
+        if (!migrating.compareAndSet(false, true)) {
+            messagesHelper.sendCommandSenderMessage(sender, "&cA storage migration is already running.");
+            return;
+        }
+
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        this.migrationDone = done;
+        foliaHelper.runAsyncTask(() -> {
+            try {
+                runMigration(sender, overwrite);
+            } finally {
+                migrating.set(false);
+                done.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Stops a migration that is still running and waits for it, then copies the changes made since a completed
+     * migration to its target and disconnects it.
+     * Must be called after the write-behind queue was flushed and before the database is disconnected.
+     */
+    public void shutdown() {
+        cancelled = true;
+        if (migrating.get()) {
+            logger.info("Stopping the running storage migration...");
+            try {
+                migrationDone.get(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                logger.warning("The storage migration did not stop in time. It may fail once the database is disconnected.");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException ignored) {
+            }
+        }
+
+        DatabaseHandler counterpart = this.target;
+        this.target = null;
+        if (counterpart == null) return;
+
+        try {
+            Set<UUID> changed = databaseHandler.drainTrackedChanges();
+            databaseHandler.copyPlayersTo(counterpart, changed);
+            logger.info("Synced the latest changes of " + changed.size() + " player(s) to the " + counterpart.getStorageType() + " database.");
+        } catch (SQLException | RuntimeException e) {
+            logger.log(Level.SEVERE, "Could not sync the latest changes to the " + counterpart.getStorageType()
+                    + " database. Run /ee migrate-storage --overwrite again before switching.", e);
+        } finally {
+            databaseHandler.stopChangeTracking();
+            counterpart.disconnect();
+        }
+    }
+
+    private void runMigration(CommandSender sender, boolean overwrite) {
+        DatabaseHandler counterpart = databaseHandler.createCounterpart();
+        String from = databaseHandler.getStorageType();
+        String to = counterpart.getStorageType();
+        long startTime = System.currentTimeMillis();
+
+        try {
+            sendMessage(sender, "&eConnecting to " + to + "...");
+            counterpart.initializeCounterpart();
+
+            if (counterpart.countRows() > 0) {
+                if (!overwrite) {
+                    sendMessage(sender, "&cThe " + to + " database already contains player data. "
+                            + "Run the command again with --overwrite to replace it.");
+                    counterpart.disconnect();
+                    return;
+                }
+                counterpart.clearData();
+            }
+
+            // Tracked before the first row is read, so nothing that changes during the copy is missed.
+            databaseHandler.startChangeTracking();
+            long totalRows = databaseHandler.countRows();
+            sendMessage(sender, "&eMigrating " + totalRows + " rows from " + from + " to " + to + ". Players can keep playing.");
+
+            long[] copied = { 0, 0 }; // Rows copied, last reported percentage
+            databaseHandler.copyDataTo(counterpart, rows -> {
+                checkCancelled();
+                copied[0] += rows;
+                long percent = (totalRows > 0) ? Math.min(100, copied[0] * 100 / totalRows) : 100;
+                if (percent >= copied[1] + PROGRESS_STEP_PERCENT) {
+                    copied[1] = percent - (percent % PROGRESS_STEP_PERCENT);
+                    sendMessage(sender, "&7Migration progress: &f" + copied[1] + "% &7(" + copied[0] + "/" + totalRows + " rows)");
+                }
+            });
+
+            catchUp(counterpart);
+            checkCancelled();
+            List<String> mismatches = getChecksumMismatches(counterpart);
+            if (!mismatches.isEmpty()) {
+                // Most likely rows that changed while comparing, give it one more pass.
+                catchUp(counterpart);
+                mismatches = getChecksumMismatches(counterpart);
+            }
+
+            if (mismatches.isEmpty()) {
+                sendMessage(sender, "&aChecksums verified for all tables.");
+            } else {
+                logger.warning("Storage migration checksums differ for: " + String.join(", ", mismatches));
+                sendMessage(sender, "&eChecksums differ for: " + String.join(", ", mismatches)
+                        + ". This is expected while players are changing data, the final sync on shutdown copies their latest rows.");
+            }
+
+            this.target = counterpart;
+            long elapsedSeconds = (System.currentTimeMillis() - startTime) / 1000;
+            logger.info("Migrated " + copied[0] + " rows from " + from + " to " + to + " in " + elapsedSeconds + "s.");
+            sendMessage(sender, "&aMigration complete in " + elapsedSeconds + "s! Set storage.type to " + to
+                    + " in config.yml and restart the server. Changes made until then are synced during shutdown.");
+        } catch (SQLException | RuntimeException e) {
+            databaseHandler.stopChangeTracking();
+            counterpart.disconnect();
+            if (cancelled) {
+                logger.warning("Storage migration from " + from + " to " + to + " was stopped by the server shutting down. Run it again after the restart.");
+                return;
+            }
+            logger.log(Level.SEVERE, "Storage migration from " + from + " to " + to + " failed.", e);
+            sendMessage(sender, "&cStorage migration failed! Your " + from + " data was not changed. Check console for details.");
+        }
+    }
+
+    /**
+     * Sends a message to the sender from the migration thread.
+     */
+    private void sendMessage(CommandSender sender, String message) {
+        foliaHelper.runTaskOnMainThread(() -> messagesHelper.sendCommandSenderMessage(sender, message));
+    }
+
+    private void checkCancelled() {
+        if (cancelled) throw new IllegalStateException("The storage migration was cancelled.");
+    }
+
+    /**
+     * Copies the rows of players that changed during the copy again, until no more changes come in.
+     */
+    private void catchUp(DatabaseHandler counterpart) throws SQLException {
+        for (int pass = 0; pass < MAX_CATCH_UP_PASSES; pass++) {
+            checkCancelled();
+            Set<UUID> changed = databaseHandler.drainTrackedChanges();
+            if (changed.isEmpty()) return;
+
+            databaseHandler.copyPlayersTo(counterpart, changed);
+            messagesHelper.sendDebugMessage("Storage migration synced " + changed.size() + " changed player(s).");
+        }
+    }
+
+    private List<String> getChecksumMismatches(DatabaseHandler counterpart) throws SQLException {
+        Map<String, DatabaseHandler.TableChecksum> sourceChecksums = databaseHandler.checksumData();
+        Map<String, DatabaseHandler.TableChecksum> targetChecksums = counterpart.checksumData();
+
+        List<String> mismatches = new ArrayList<>();
+        for (Map.Entry<String, DatabaseHandler.TableChecksum> entry : sourceChecksums.entrySet()) {
+            if (!entry.getValue().equals(targetChecksums.get(entry.getKey()))) {
+                mismatches.add(entry.getKey());
+            }
+        }
+        return mismatches;
+    }
+}
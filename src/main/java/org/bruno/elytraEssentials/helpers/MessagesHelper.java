@@ -55,8 +55,16 @@ public class MessagesHelper {
      * @param message The raw string message to send (supports '&' color codes).
      */
     public void sendActionBarMessage(Player player, String message) {
-        String coloredMessage = ColorHelper.parse(message);
+        sendColoredActionBarMessage(player, ColorHelper.parse(message));
+    }
 
+    /**
+     * Sends an action bar message whose color codes were already parsed, e.g. a rendered {@code MessageTemplate}.
+     *
+     * @param player The player who will receive the message.
+     * @param coloredMessage The message, with colors already translated.
+     */
+    public void sendColoredActionBarMessage(Player player, String coloredMessage) {
         if (serverVersion == ServerVersion.V_1_21) {
             player.spigot().sendMessage(ChatMessageType.ACTION_BAR, TextComponent.fromLegacy(coloredMessage));
         } else {
@@ -143,6 +143,12 @@ public final class PermissionsHelper {
                 sender.hasPermission(Constants.Permissions.CMD_IMPORT_DB);
     }
 
+    public static boolean hasMigrateStoragePermission(CommandSender sender){
+        return sender.hasPermission(Constants.Permissions.ALL) ||
+                sender.hasPermission(Constants.Permissions.ALL_COMMANDS) ||
+                sender.hasPermission(Constants.Permissions.CMD_MIGRATE_STORAGE);
+    }
+
     public static boolean hasAchievementsPermission(CommandSender sender){
         return sender.hasPermission(Constants.Permissions.ALL) ||
                 sender.hasPermission(Constants.Permissions.ALL_COMMANDS) ||
@@ -14,17 +14,28 @@ public final class TimeHelper {
      * @return A dynamically formatted string representing the flight time.
      */
     public static String formatFlightTime(int totalSeconds) {
+        return appendFlightTime(new StringBuilder(12), totalSeconds).toString();
+    }
+
+    /**
+     * Same as {@link #formatFlightTime(int)}, but appends to an existing builder.
+     *
+     * @param out The builder to append to.
+     * @param totalSeconds The total flight time in seconds.
+     * @return The same builder.
+     */
+    public static StringBuilder appendFlightTime(StringBuilder out, int totalSeconds) {
         if (totalSeconds < 60) {
-            return totalSeconds + "s";
+            return out.append(totalSeconds).append('s');
         } else if (totalSeconds < 3600) {
             int minutes = totalSeconds / 60;
             int seconds = totalSeconds % 60;
-            return String.format("%dm %ds", minutes, seconds);
+            return out.append(minutes).append("m ").append(seconds).append('s');
         } else {
             int hours = totalSeconds / 3600;
             int minutes = (totalSeconds % 3600) / 60;
             int seconds = totalSeconds % 60;
-            return String.format("%dh %dm %ds", hours, minutes, seconds);
+            return out.append(hours).append("h ").append(minutes).append("m ").append(seconds).append('s');
         }
     }
 
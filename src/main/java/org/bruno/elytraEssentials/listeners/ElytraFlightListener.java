@@ -1,52 +1,65 @@
 package org.bruno.elytraEssentials.listeners;
 
-import org.bruno.elytraEssentials.handlers.EffectsHandler;
 import org.bruno.elytraEssentials.handlers.FlightHandler;
+import org.bruno.elytraEssentials.handlers.FlightTickHandler;
+import org.bruno.elytraEssentials.handlers.PlayerSessionHandler;
 import org.bruno.elytraEssentials.handlers.StatsHandler;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.EntityToggleGlideEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
 public class ElytraFlightListener implements Listener
 {
     private final FlightHandler flightHandler;
+    private final FlightTickHandler flightTickHandler;
     private final StatsHandler statsHandler;
-    private final EffectsHandler effectsHandler;
+    private final PlayerSessionHandler sessionHandler;
 
-    public ElytraFlightListener(FlightHandler flightHandler, StatsHandler statsHandler, EffectsHandler effectsHandler){
+    public ElytraFlightListener(FlightHandler flightHandler, FlightTickHandler flightTickHandler, StatsHandler statsHandler, PlayerSessionHandler sessionHandler){
         this.flightHandler = flightHandler;
+        this.flightTickHandler = flightTickHandler;
         this.statsHandler = statsHandler;
-        this.effectsHandler = effectsHandler;
+        this.sessionHandler = sessionHandler;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerPreLogin(AsyncPlayerPreLoginEvent e) {
+        // Already off the main thread, so the data can be fetched here and be ready by the time the player joins.
+        if (e.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        sessionHandler.prefetchSession(e.getUniqueId());
     }
 
     @EventHandler
     public void onPlayerJoin(PlayerJoinEvent e) {
-        Player player = e.getPlayer();
-
-        statsHandler.loadPlayerStats(player);
-        effectsHandler.loadPlayerActiveEffect(player);
-        flightHandler.loadPlayerData(player);
+        sessionHandler.loadSession(e.getPlayer());
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent e) {
-        Player player = e.getPlayer();
-
-        statsHandler.savePlayerStats(player);
-        effectsHandler.clearPlayerActiveEffect(player);
-        flightHandler.unloadPlayerData(player);
+        sessionHandler.unloadSession(e.getPlayer());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
     public void onPlayerGlide(EntityToggleGlideEvent e) {
         if (!(e.getEntity() instanceof Player player)) return;
 
+        // Flight time and stats are not known until the player's data has loaded.
+        if (e.isGliding() && !sessionHandler.isReady(player.getUniqueId())) {
+            e.setCancelled(true);
+            return;
+        }
+
         statsHandler.setGliding(player, e.isGliding());
         if (e.isGliding()) {
             boolean shouldCancel = flightHandler.onGlideStartAttempt(player);
@@ -60,7 +73,23 @@ public class ElytraFlightListener implements Listener
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onPlayerMove(PlayerMoveEvent e) {
-        flightHandler.handlePlayerMove(e);
+        // The actual work happens once per sample, see FlightTickHandler
+        flightTickHandler.recordMove(e.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent e) {
+        flightTickHandler.resetSample(e.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent e) {
+        flightTickHandler.resetSample(e.getPlayer());
+    }
+
+    @EventHandler
+    public void onPlayerRespawn(PlayerRespawnEvent e) {
+        flightTickHandler.resetSample(e.getPlayer());
     }
 
     @EventHandler
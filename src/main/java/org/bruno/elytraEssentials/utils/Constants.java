@@ -103,6 +103,7 @@ public final class Constants {
         public static final String CMD_ARMOR = "elytraessentials.command.armor";
         public static final String CMD_REPAIR = "elytraessentials.command.armor.repair";
         public static final String CMD_IMPORT_DB = "elytraessentials.command.importdb";
+        public static final String CMD_MIGRATE_STORAGE = "elytraessentials.command.migratestorage";
         public static final String CMD_ACHIEVEMENTS = "elytraessentials.command.achievements";
         public static final String CMD_TANDEM_INVITE = "elytraessentials.command.tandem.invite";
         public static final String CMD_TANDEM_ACCEPT = "elytraessentials.command.tandem.accept";
@@ -202,6 +203,7 @@ public final class Constants {
             public static final String OWNED_EFFECTS = "owned_effects";
             public static final String PLAYER_STATS = "player_stats";
             public static final String PLAYER_ACHIEVEMENTS = "player_achievements";
+            public static final String SCHEMA_VERSION = "schema_version";
         }
     }
 
@@ -0,0 +1,226 @@
+package org.bruno.elytraEssentials.utils;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Everything the flight and boost handlers track for one online player, kept in plain fields so that a move event
+ * resolves all of it with a single lookup instead of one map probe (and boxed value) per piece of state.
+ * <p>
+ * Most fields are only touched on the player's own thread. The ones that admin commands, the auto-save or the
+ * global countdown also touch are volatile.
+ */
+public class FlightSession {
+    private final UUID uuid;
+
+    // Flight time, only meaningful once loaded.
+    private volatile boolean flightTimeLoaded;
+    private volatile int flightTime;
+    private final AtomicBoolean flightTimeDirty = new AtomicBoolean();
+    private volatile int initialFlightTime = 1;
+    private volatile TrackedBossBar flightBossBar;
+    private volatile CancellableTask flightTask;
+
+    // Movement sampling, see FlightTickHandler
+    private volatile boolean moved;
+    private volatile CancellableTask sampleTask;
+    private final Location sampleLocation = new Location(null, 0, 0, 0);
+    private World lastSampleWorld;
+    private double lastSampleX;
+    private double lastSampleY;
+    private double lastSampleZ;
+
+    // Speedometer
+    private long speedometerShown = -1;
+    private long speedometerSentAt;
+
+    // Current flight
+    private double flightDistance;
+    private volatile boolean fallProtected;
+    private long deployCooldownEnd;
+
+    // Boosts
+    private long lastBoostTime;
+    private long cooldownMessageSentFor;
+    private volatile long boostMessageEnd;
+    private volatile long superBoostMessageEnd;
+    private volatile CancellableTask boostTask;
+    private volatile CancellableTask chargingTask;
+    private volatile TrackedBossBar chargeBossBar;
+
+    public FlightSession(UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    public UUID getUuid() { return uuid; }
+
+    public boolean isFlightTimeLoaded() { return flightTimeLoaded; }
+    public int getFlightTime() { return flightTime; }
+
+    /**
+     * Sets the flight time, marking it as loaded. Changes made this way are not saved automatically.
+     */
+    public void setFlightTime(int flightTime) { this.flightTime = flightTime; this.flightTimeLoaded = true; }
+
+    /**
+     * Replaces a loaded flight time and marks it for saving, so a save of the old value in the meantime is overwritten again.
+     */
+    public void changeFlightTime(int flightTime) { this.flightTime = flightTime; this.flightTimeDirty.set(true); }
+
+    /**
+     * Forgets the flight time, e.g. before it is replaced by an import.
+     */
+    public void unloadFlightTime() { this.flightTimeLoaded = false; this.flightTime = 0; this.flightTimeDirty.set(false); }
+
+    /**
+     * Uses up one second of flight time and marks it for saving.
+     */
+    public void consumeFlightSecond() { this.flightTime--; this.flightTimeDirty.set(true); }
+
+    public boolean isFlightTimeDirty() { return flightTimeDirty.get(); }
+
+    /**
+     * Clears the flag in one step, so a second consumed while saving marks the flight time dirty again.
+     * Read the flight time only after this returned.
+     *
+     * @return true if the flight time was dirty.
+     */
+    public boolean clearFlightTimeDirty() { return flightTimeDirty.getAndSet(false); }
+
+    public int getInitialFlightTime() { return initialFlightTime; }
+    public void setInitialFlightTime(int initialFlightTime) { this.initialFlightTime = initialFlightTime; }
+    public TrackedBossBar getFlightBossBar() { return flightBossBar; }
+    public void setFlightBossBar(TrackedBossBar flightBossBar) { this.flightBossBar = flightBossBar; }
+    public CancellableTask getFlightTask() { return flightTask; }
+    public void setFlightTask(CancellableTask flightTask) { this.flightTask = flightTask; }
+
+    public void markMoved() { this.moved = true; }
+
+    /**
+     * @return true if the player moved since the last call, clearing the flag.
+     */
+    public boolean clearMoved() {
+        if (!moved) return false;
+        moved = false;
+        return true;
+    }
+
+    public CancellableTask getSampleTask() { return sampleTask; }
+    public void setSampleTask(CancellableTask sampleTask) { this.sampleTask = sampleTask; }
+
+    /**
+     * @return a location to copy the player's position into, reused for every sample.
+     */
+    public Location getSampleLocation() { return sampleLocation; }
+
+    /**
+     * Records the given position as the latest sample.
+     *
+     * @param maxDistance the furthest the player can have flown since the previous sample.
+     * @return the distance from the previous sample, capped at {@code maxDistance}, or 0 if there was none in the same world.
+     */
+    public double advanceSample(Location location, double maxDistance) {
+        World world = location.getWorld();
+        double dx = location.getX() - lastSampleX;
+        double dy = location.getY() - lastSampleY;
+        double dz = location.getZ() - lastSampleZ;
+        boolean sameWorld = world != null && world == lastSampleWorld;
+
+        lastSampleWorld = world;
+        lastSampleX = location.getX();
+        lastSampleY = location.getY();
+        lastSampleZ = location.getZ();
+
+        if (!sameWorld) return 0;
+
+        return Math.min(Math.sqrt(dx * dx + dy * dy + dz * dz), maxDistance);
+    }
+
+    /**
+     * Forgets the latest sample, so a teleport doesn't count as distance flown.
+     */
+    public void resetSample() { this.lastSampleWorld = null; }
+
+    public long getSpeedometerShown() { return speedometerShown; }
+    public long getSpeedometerSentAt() { return speedometerSentAt; }
+
+    public void setSpeedometerShown(long shown, long sentAt) {
+        this.speedometerShown = shown;
+        this.speedometerSentAt = sentAt;
+    }
+
+    /**
+     * Makes the next speedometer reading be sent right away.
+     */
+    public void resetSpeedometer() {
+        this.speedometerShown = -1;
+        this.speedometerSentAt = 0;
+    }
+
+    public double getFlightDistance() { return flightDistance; }
+    public void setFlightDistance(double flightDistance) { this.flightDistance = flightDistance; }
+    public void addFlightDistance(double distance) { this.flightDistance += distance; }
+
+    public boolean isFallProtected() { return fallProtected; }
+
+    /**
+     * @return true if the player wasn't protected before.
+     */
+    public boolean protectFromFall() {
+        if (fallProtected) return false;
+        fallProtected = true;
+        return true;
+    }
+
+    public void removeFallProtection() { this.fallProtected = false; }
+
+    public long getDeployCooldownEnd() { return deployCooldownEnd; }
+    public void setDeployCooldownEnd(long deployCooldownEnd) { this.deployCooldownEnd = deployCooldownEnd; }
+
+    public long getLastBoostTime() { return lastBoostTime; }
+    public void setLastBoostTime(long lastBoostTime) { this.lastBoostTime = lastBoostTime; }
+    public long getCooldownMessageSentFor() { return cooldownMessageSentFor; }
+    public void setCooldownMessageSentFor(long cooldownMessageSentFor) { this.cooldownMessageSentFor = cooldownMessageSentFor; }
+
+    public boolean isBoostMessageActive(long now) { return now <= boostMessageEnd; }
+    public void setBoostMessageEnd(long boostMessageEnd) { this.boostMessageEnd = boostMessageEnd; }
+    public boolean isSuperBoostMessageActive(long now) { return now <= superBoostMessageEnd; }
+    public void setSuperBoostMessageEnd(long superBoostMessageEnd) { this.superBoostMessageEnd = superBoostMessageEnd; }
+
+    public CancellableTask getBoostTask() { return boostTask; }
+    public void setBoostTask(CancellableTask boostTask) { this.boostTask = boostTask; }
+    public CancellableTask getChargingTask() { return chargingTask; }
+    public void setChargingTask(CancellableTask chargingTask) { this.chargingTask = chargingTask; }
+    public TrackedBossBar getChargeBossBar() { return chargeBossBar; }
+    public void setChargeBossBar(TrackedBossBar chargeBossBar) { this.chargeBossBar = chargeBossBar; }
+
+    /**
+     * Cancels every task and hides every boss bar of this session, e.g. when the player leaves.
+     */
+    public void close() {
+        cancel(flightTask);
+        cancel(boostTask);
+        cancel(chargingTask);
+        cancel(sampleTask);
+        flightTask = null;
+        boostTask = null;
+        chargingTask = null;
+        sampleTask = null;
+
+        hide(flightBossBar);
+        hide(chargeBossBar);
+        flightBossBar = null;
+        chargeBossBar = null;
+    }
+
+    private static void cancel(CancellableTask task) {
+        if (task != null) task.cancel();
+    }
+
+    private static void hide(TrackedBossBar bossBar) {
+        if (bossBar != null) bossBar.hide();
+    }
+}
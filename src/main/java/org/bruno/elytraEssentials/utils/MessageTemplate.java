@@ -0,0 +1,95 @@
+package org.bruno.elytraEssentials.utils;
+
+import org.bruno.elytraEssentials.helpers.ColorHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message split once into already colored literal text and numbered {@code {n}} placeholders, so it can be
+ * rendered over and over without any replace, regex or color parsing.
+ */
+public final class MessageTemplate {
+    /**
+     * Writes the value of a placeholder.
+     */
+    @FunctionalInterface
+    public interface Slots {
+        void append(StringBuilder out, int slot);
+    }
+
+    // Reused by every render on the same thread, so rendering only allocates the resulting string
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    // Always one more literal than slots: literal, slot, literal, ..., slot, literal
+    private final String[] literals;
+    private final int[] slots;
+
+    private MessageTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Splits a raw message (with '&' color codes) into its colored literals and placeholders.
+     */
+    public static MessageTemplate compile(String raw) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int literalStart = 0;
+        int i = 0;
+        while (i < raw.length()) {
+            int end = placeholderEnd(raw, i);
+            if (end < 0) {
+                i++;
+                continue;
+            }
+
+            literals.add(ColorHelper.parse(raw.substring(literalStart, i)));
+            slots.add(Integer.parseInt(raw.substring(i + 1, end - 1)));
+            literalStart = end;
+            i = end;
+        }
+        literals.add(ColorHelper.parse(raw.substring(literalStart)));
+
+        int[] slotArray = new int[slots.size()];
+        for (int s = 0; s < slotArray.length; s++) {
+            slotArray[s] = slots.get(s);
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * Renders the message, asking {@code values} for each placeholder in order.
+     */
+    public String render(Slots values) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        return render(buffer, values).toString();
+    }
+
+    /**
+     * Appends the message to the builder, asking {@code values} for each placeholder in order.
+     */
+    public StringBuilder render(StringBuilder out, Slots values) {
+        for (int s = 0; s < slots.length; s++) {
+            out.append(literals[s]);
+            values.append(out, slots[s]);
+        }
+        return out.append(literals[slots.length]);
+    }
+
+    /**
+     * @return the index just past the placeholder starting at {@code start}, or -1 if there is none.
+     */
+    private static int placeholderEnd(String raw, int start) {
+        if (raw.charAt(start) != '{') return -1;
+
+        int i = start + 1;
+        while (i < raw.length() && Character.isDigit(raw.charAt(i))) i++;
+
+        if (i == start + 1 || i >= raw.length() || raw.charAt(i) != '}') return -1;
+        return i + 1;
+    }
+}
@@ -11,6 +11,21 @@ public class PlayerStats {
     private int superBoostsUsed;
     private int pluginSaves;
 
+    // Bumped on every change, compared against the last saved version to tell whether a save is needed.
+    private volatile long version;
+    private volatile long savedVersion;
+
+    // Only set on the live object of an online player, copies are detached.
+    private volatile ChangeListener changeListener;
+
+    /**
+     * Notified with the new value whenever a stat changes.
+     */
+    @FunctionalInterface
+    public interface ChangeListener {
+        void onStatChanged(PlayerStats stats, StatType type, double value);
+    }
+
     public PlayerStats(UUID uuid) {
         this.uuid = uuid;
         this.totalDistance = 0;
@@ -21,23 +36,80 @@ public class PlayerStats {
         this.pluginSaves = 0;
     }
 
+    /**
+     * Creates a detached copy of another stats object.
+     */
+    public PlayerStats(PlayerStats other) {
+        this.uuid = other.uuid;
+        this.totalDistance = other.totalDistance;
+        this.totalTimeSeconds = other.totalTimeSeconds;
+        this.longestFlight = other.longestFlight;
+        this.boostsUsed = other.boostsUsed;
+        this.superBoostsUsed = other.superBoostsUsed;
+        this.pluginSaves = other.pluginSaves;
+    }
+
     public UUID getUuid() { return uuid; }
     public double getTotalDistance() { return totalDistance; }
-    public void setTotalDistance(double totalDistance) { this.totalDistance = totalDistance; }
+    public void setTotalDistance(double totalDistance) { this.totalDistance = totalDistance; markChanged(StatType.TOTAL_DISTANCE, this.totalDistance); }
     public long getTotalTimeSeconds() { return totalTimeSeconds; }
-    public void setTotalTimeSeconds(long totalTimeSeconds) { this.totalTimeSeconds = totalTimeSeconds; }
+    public void setTotalTimeSeconds(long totalTimeSeconds) { this.totalTimeSeconds = totalTimeSeconds; markChanged(StatType.TOTAL_FLIGHT_TIME, this.totalTimeSeconds); }
     public double getLongestFlight() { return longestFlight; }
-    public void setLongestFlight(double longestFlight) { this.longestFlight = longestFlight; }
+    public void setLongestFlight(double longestFlight) { this.longestFlight = longestFlight; markChanged(StatType.LONGEST_FLIGHT, this.longestFlight); }
     public int getBoostsUsed() { return boostsUsed; }
-    public void setBoostsUsed(int boostsUsed) { this.boostsUsed = boostsUsed; }
+    public void setBoostsUsed(int boostsUsed) { this.boostsUsed = boostsUsed; markChanged(StatType.BOOSTS_USED, this.boostsUsed); }
     public int getSuperBoostsUsed() { return superBoostsUsed; }
-    public void setSuperBoostsUsed(int superBoostsUsed) { this.superBoostsUsed = superBoostsUsed; }
+    public void setSuperBoostsUsed(int superBoostsUsed) { this.superBoostsUsed = superBoostsUsed; markChanged(StatType.SUPER_BOOSTS_USED, this.superBoostsUsed); }
     public int getPluginSaves() { return pluginSaves; }
-    public void setPluginSaves(int pluginSaves) { this.pluginSaves = pluginSaves; }
+    public void setPluginSaves(int pluginSaves) { this.pluginSaves = pluginSaves; markChanged(StatType.SAVES, this.pluginSaves); }
+
+    public void addDistance(double distance) { this.totalDistance += distance; markChanged(StatType.TOTAL_DISTANCE, this.totalDistance); }
+    public void addTime(long seconds) { this.totalTimeSeconds += seconds; markChanged(StatType.TOTAL_FLIGHT_TIME, this.totalTimeSeconds); }
+    public void incrementBoostsUsed() { this.boostsUsed++; markChanged(StatType.BOOSTS_USED, this.boostsUsed); }
+    public void incrementSuperBoostsUsed() { this.superBoostsUsed++; markChanged(StatType.SUPER_BOOSTS_USED, this.superBoostsUsed); }
+    public void incrementPluginSaves() { this.pluginSaves++; markChanged(StatType.SAVES, this.pluginSaves); }
+
+    public void setChangeListener(ChangeListener changeListener) { this.changeListener = changeListener; }
 
-    public void addDistance(double distance) { this.totalDistance += distance; }
-    public void addTime(long seconds) { this.totalTimeSeconds += seconds; }
-    public void incrementBoostsUsed() { this.boostsUsed++; }
-    public void incrementSuperBoostsUsed() { this.superBoostsUsed++; }
-    public void incrementPluginSaves() { this.pluginSaves++; }
+    /**
+     * Adds the progress recorded in another stats object on top of this one.
+     * Counters are summed and the longest flight keeps the higher value.
+     */
+    public void mergeFrom(PlayerStats delta) {
+        this.totalDistance += delta.totalDistance;
+        this.totalTimeSeconds += delta.totalTimeSeconds;
+        this.longestFlight = Math.max(this.longestFlight, delta.longestFlight);
+        this.boostsUsed += delta.boostsUsed;
+        this.superBoostsUsed += delta.superBoostsUsed;
+        this.pluginSaves += delta.pluginSaves;
+        markChanged();
+
+        ChangeListener listener = this.changeListener;
+        if (listener != null) {
+            listener.onStatChanged(this, StatType.TOTAL_DISTANCE, totalDistance);
+            listener.onStatChanged(this, StatType.TOTAL_FLIGHT_TIME, totalTimeSeconds);
+            listener.onStatChanged(this, StatType.LONGEST_FLIGHT, longestFlight);
+            listener.onStatChanged(this, StatType.BOOSTS_USED, boostsUsed);
+            listener.onStatChanged(this, StatType.SUPER_BOOSTS_USED, superBoostsUsed);
+            listener.onStatChanged(this, StatType.SAVES, pluginSaves);
+        }
+    }
+
+    public long getVersion() { return version; }
+    public boolean isDirty() { return version != savedVersion; }
+
+    /**
+     * Records that the state up to the given version has been handed over for saving.
+     * Changes made after that version was read keep the stats dirty.
+     */
+    public void markSaved(long savedVersion) { this.savedVersion = savedVersion; }
+
+    // Not atomic, but even a lost increment still leaves the version different from the saved one.
+    private void markChanged() { this.version++; }
+
+    private void markChanged(StatType type, double value) {
+        markChanged();
+        ChangeListener listener = this.changeListener;
+        if (listener != null) listener.onStatChanged(this, type, value);
+    }
 }
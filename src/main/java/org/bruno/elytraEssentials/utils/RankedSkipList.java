@@ -0,0 +1,207 @@
+package org.bruno.elytraEssentials.utils;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * An order-statistic skip list of player scores, highest score first.
+ * <p>
+ * Every forward link stores how many entries it skips, so updates, rank lookups and positional access
+ * all run in O(log n). All methods are synchronized, the list can be shared between threads.
+ */
+public class RankedSkipList {
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private static final class Node {
+        final UUID uuid;
+        final double score;
+        final Node[] next;
+        final int[] span; // Number of level 0 steps to the next node on the same level
+
+        Node(UUID uuid, double score, int levels) {
+            this.uuid = uuid;
+            this.score = score;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    public record Entry(UUID uuid, double score) {}
+
+    private final Node head = new Node(null, 0, MAX_LEVEL);
+    private final Map<UUID, Double> scores = new HashMap<>();
+    private int level = 1;
+    private int size = 0;
+
+    /**
+     * Sets a player's score, inserting them if they are not ranked yet.
+     */
+    public synchronized void put(UUID uuid, double score) {
+        Double current = scores.get(uuid);
+        if (current != null) {
+            if (current == score) return;
+            delete(uuid, current);
+        }
+
+        insert(uuid, score);
+        scores.put(uuid, score);
+    }
+
+    /**
+     * Inserts a player's score only if they are not ranked yet.
+     */
+    public synchronized void putIfAbsent(UUID uuid, double score) {
+        if (scores.containsKey(uuid)) return;
+
+        insert(uuid, score);
+        scores.put(uuid, score);
+    }
+
+    public synchronized void remove(UUID uuid) {
+        Double current = scores.remove(uuid);
+        if (current != null) {
+            delete(uuid, current);
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(head.next, null);
+        Arrays.fill(head.span, 0);
+        scores.clear();
+        level = 1;
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns a player's rank, 1 for the highest score. Players with equal scores share the same rank.
+     *
+     * @return The rank, or -1 if the player is not ranked.
+     */
+    public synchronized int getRank(UUID uuid) {
+        Double score = scores.get(uuid);
+        if (score == null) return -1;
+
+        // Rank is 1 + the number of players with a strictly higher score.
+        int higher = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].score > score) {
+                higher += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return higher + 1;
+    }
+
+    /**
+     * Returns up to {@code count} entries starting at the given 1-based position, highest score first.
+     */
+    public synchronized List<Entry> getRange(int start, int count) {
+        List<Entry> entries = new ArrayList<>(Math.max(0, Math.min(count, size - start + 1)));
+        if (start < 1 || start > size || count <= 0) return entries;
+
+        // Walk down to the node just before the requested position, then continue on level 0.
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] < start) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+        }
+
+        x = x.next[0];
+        while (x != null && entries.size() < count) {
+            entries.add(new Entry(x.uuid, x.score));
+            x = x.next[0];
+        }
+        return entries;
+    }
+
+    private static boolean isBefore(Node node, UUID uuid, double score) {
+        int comparison = Double.compare(score, node.score); // Descending by score
+        return comparison != 0 ? comparison < 0 : node.uuid.compareTo(uuid) < 0;
+    }
+
+    private void insert(UUID uuid, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = (i == level - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && isBefore(x.next[i], uuid, score)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int newLevel = randomLevel();
+        if (newLevel > level) {
+            for (int i = level; i < newLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = newLevel;
+        }
+
+        Node node = new Node(uuid, score, newLevel);
+        for (int i = 0; i < newLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+
+        // Links above the new node's height now skip one more entry.
+        for (int i = newLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    private void delete(UUID uuid, double score) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && isBefore(x.next[i], uuid, score)) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || !target.uuid.equals(uuid)) return;
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    private static int randomLevel() {
+        int newLevel = 1;
+        while (newLevel < MAX_LEVEL && ThreadLocalRandom.current().nextDouble() < LEVEL_PROBABILITY) {
+            newLevel++;
+        }
+        return newLevel;
+    }
+}
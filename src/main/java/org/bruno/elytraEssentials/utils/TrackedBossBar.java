@@ -0,0 +1,64 @@
+package org.bruno.elytraEssentials.utils;
+
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BossBar;
+
+/**
+ * A boss bar that remembers what it last showed, so setting an unchanged title, color or progress does nothing.
+ */
+public final class TrackedBossBar {
+    private final BossBar bossBar;
+
+    private String title;
+    private BarColor color;
+    private double progress;
+    private boolean visible;
+
+    public TrackedBossBar(BossBar bossBar) {
+        this.bossBar = bossBar;
+        this.title = bossBar.getTitle();
+        this.color = bossBar.getColor();
+        this.progress = bossBar.getProgress();
+        this.visible = bossBar.isVisible();
+    }
+
+    public void setTitle(String title) {
+        if (title.equals(this.title)) return;
+        this.title = title;
+        bossBar.setTitle(title);
+    }
+
+    public void setColor(BarColor color) {
+        if (color == this.color) return;
+        this.color = color;
+        bossBar.setColor(color);
+    }
+
+    public void setProgress(double progress) {
+        if (progress == this.progress) return;
+        this.progress = progress;
+        bossBar.setProgress(progress);
+    }
+
+    public boolean isVisible() { return visible; }
+
+    public void show() {
+        if (visible) return;
+        visible = true;
+        bossBar.setVisible(true);
+    }
+
+    public void hide() {
+        if (!visible) return;
+        visible = false;
+        bossBar.setVisible(false);
+    }
+
+    /**
+     * Removes the bar from all of its players for good.
+     */
+    public void remove() {
+        visible = false;
+        bossBar.removeAll();
+    }
+}